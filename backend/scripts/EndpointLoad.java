@@ -0,0 +1,111 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Closed-loop HTTP load generator for the read endpoints.
+ *
+ * Each worker repeatedly picks a random user and endpoint, waits for the
+ * response and records its latency. Prints one JSON line with throughput and
+ * latency percentiles so runs can be compared.
+ *
+ * Usage: java scripts/EndpointLoad.java [baseUrl] [concurrency] [seconds] [users]
+ */
+public class EndpointLoad {
+
+    private static final String[] ENDPOINTS = {
+        "/api/accounts?userId=%d",
+        "/api/loans?userId=%d",
+        "/api/saving-goals?userId=%d",
+        "/api/cards?userId=%d",
+        "/api/users/%d/dashboard",
+        "/api/transactions?accountId=%d&limit=50"
+    };
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8081";
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        int users = args.length > 3 ? Integer.parseInt(args[3]) : 20;
+
+        HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newFixedThreadPool(16))
+            .build();
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Future<long[]>> results = new ArrayList<>();
+        long[] errors = new long[concurrency];
+        for (int w = 0; w < concurrency; w++) {
+            int worker = w;
+            results.add(workers.submit(() -> {
+                long[] latencies = new long[1024];
+                int count = 0;
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    String path = String.format(ENDPOINTS[random.nextInt(ENDPOINTS.length)], 1 + random.nextInt(users));
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                        .timeout(Duration.ofSeconds(30))
+                        .build();
+                    long started = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 500) {
+                            errors[worker]++;
+                            continue;
+                        }
+                    } catch (Exception e) {
+                        errors[worker]++;
+                        continue;
+                    }
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = System.nanoTime() - started;
+                }
+                return Arrays.copyOf(latencies, count);
+            }));
+        }
+
+        long total = 0;
+        List<long[]> perWorker = new ArrayList<>();
+        for (Future<long[]> result : results) {
+            long[] latencies = result.get();
+            perWorker.add(latencies);
+            total += latencies.length;
+        }
+        workers.shutdown();
+
+        long[] all = new long[(int) total];
+        int offset = 0;
+        for (long[] latencies : perWorker) {
+            System.arraycopy(latencies, 0, all, offset, latencies.length);
+            offset += latencies.length;
+        }
+        Arrays.sort(all);
+        long errorCount = Arrays.stream(errors).sum();
+
+        System.out.printf("{\"concurrency\":%d,\"seconds\":%d,\"requests\":%d,\"errors\":%d,\"throughput\":%.1f," +
+                "\"p50_ms\":%.2f,\"p99_ms\":%.2f,\"max_ms\":%.2f}%n",
+            concurrency, seconds, total, errorCount, total / (double) seconds,
+            percentile(all, 0.50), percentile(all, 0.99), all.length > 0 ? all[all.length - 1] / 1e6 : 0.0);
+        System.exit(0);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)] / 1e6;
+    }
+}
@@ -0,0 +1,35 @@
+#!/usr/bin/env bash
+# Runs the backend twice on the same JDK - once on Tomcat's platform thread
+# pool, once with the virtual-threads profile - and drives both with the
+# same closed-loop load. Needs a Java 21+ `java` on the PATH (or JAVA_HOME).
+#
+# Usage: scripts/compare-virtual-threads.sh [concurrency] [seconds]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+CONCURRENCY=${1:-400}
+SECONDS_PER_RUN=${2:-30}
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+JAR=target/backend-1.0-SNAPSHOT.jar
+PORT=18081
+
+[ -f "$JAR" ] || mvn -B -q package -DskipTests
+
+run() {
+    local label=$1; shift
+    "$JAVA" -jar "$JAR" --server.port=$PORT --spring.jpa.show-sql=false \
+        --pext.seed.mode=load --pext.seed.users=1000 --pext.seed.transactions-per-account=100 "$@" \
+        > "target/compare-$label.log" 2>&1 &
+    local pid=$!
+    until curl -sf "http://localhost:$PORT/api/health" > /dev/null; do sleep 1; done
+    # Short warm-up so both runs are measured on a JIT-compiled server
+    "$JAVA" scripts/EndpointLoad.java "http://localhost:$PORT" 50 10 1000 > /dev/null
+    echo -n "$label: "
+    "$JAVA" scripts/EndpointLoad.java "http://localhost:$PORT" "$CONCURRENCY" "$SECONDS_PER_RUN" 1000
+    kill $pid
+    wait $pid 2> /dev/null || true
+}
+
+run platform
+run virtual --spring.profiles.active=virtual-threads
+grep -h "pinned" target/compare-virtual.log || echo "no pinned virtual threads reported"
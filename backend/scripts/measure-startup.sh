@@ -0,0 +1,55 @@
+#!/usr/bin/env bash
+# Measures restart time of the prod profile (file-backed H2) against stores
+# of different sizes. For each user count, a fresh data directory is seeded
+# once with synthetic load data, then the backend is restarted a few times
+# on it and the time until /api/health reports OK is measured.
+#
+# Usage: scripts/measure-startup.sh [users...]   (default: 0 500 2000)
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+JAR=target/backend-1.0-SNAPSHOT.jar
+PORT=18081
+RESTARTS=3
+DATA_ROOT=$PWD/target/startup-data
+
+[ -f "$JAR" ] || mvn -B -q package -DskipTests
+[ $# -gt 0 ] || set -- 0 500 2000
+
+start() {
+    local log=$1; shift
+    "$JAVA" -jar "$JAR" --spring.profiles.active=prod --server.port=$PORT "$@" > "$log" 2>&1 &
+    pid=$!
+}
+
+stop() {
+    # SIGTERM, so H2 closes (and compacts) the file as it would in production
+    kill $pid
+    wait $pid 2> /dev/null || true
+}
+
+# Never leave a server behind when a step fails
+trap 'kill ${pid:-} 2> /dev/null || true' EXIT
+
+for users in "$@"; do
+    dir=$DATA_ROOT/users-$users
+    rm -rf "$dir"
+    log=target/startup-seed-$users.log
+    start "$log" --pext.data-dir="$dir" --pext.seed.mode=load --pext.seed.users="$users"
+    until grep -qs "Startup seeding" "$log"; do sleep 1; done
+    stop
+    
+    for run in $(seq 1 $RESTARTS); do
+        log=target/startup-$users-$run.log
+        begin=$(date +%s%N)
+        start "$log" --pext.data-dir="$dir"
+        until curl -sf "http://localhost:$PORT/api/health" > /dev/null; do sleep 0.05; done
+        ready=$(( ($(date +%s%N) - begin) / 1000000 ))
+        # Tomcat answers before Spring logs its own startup time
+        until grep -qs "Started BackendApplication" "$log"; do sleep 0.05; done
+        started=$(grep -o "Started BackendApplication in [0-9.]* seconds" "$log" | grep -o "[0-9.]* seconds")
+        echo "users=$users size=$(du -sh "$dir" | cut -f1) run=$run health_after_ms=$ready spring_started_in=\"$started\""
+        stop
+    done
+done
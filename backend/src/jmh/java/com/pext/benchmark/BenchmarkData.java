@@ -0,0 +1,72 @@
+package com.pext.benchmark;
+
+import com.pext.model.Account;
+import com.pext.model.Bank;
+import com.pext.model.Card;
+import com.pext.model.Money;
+import com.pext.model.Transaction;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic fixtures shared by the in-memory benchmarks.
+ */
+final class BenchmarkData {
+    
+    private static final String[] CATEGORIES = {"Food", "Shopping", "Travel", "Bills", "Transfer", "Entertainment", "Others"};
+    private static final String[] DESCRIPTIONS = {"Grocery shopping", "Restaurant bill", "Online purchase", "Salary deposit", "Rent payment"};
+    
+    private BenchmarkData() {}
+    
+    static List<Transaction> transactions(int count) {
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Transaction> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Transaction transaction = new Transaction(1L + i % 3, Money.ofMinor(random.nextLong(500, 500_000)),
+                random.nextBoolean() ? "credit" : "debit");
+            transaction.setId((long) i + 1);
+            transaction.setCategory(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+            transaction.setDescription(DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)]);
+            transaction.setDate(now.minusMinutes(i));
+            transactions.add(transaction);
+        }
+        return transactions;
+    }
+    
+    static List<Account> accounts(int count) {
+        List<Account> accounts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Account account = new Account(1L, 1L + i % 10, "ACC0000010" + i, "savings");
+            account.setId((long) i + 1);
+            account.setBalance(Money.ofMinor(1_000_000L + i));
+            account.setIsLinked(true);
+            account.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+            accounts.add(account);
+        }
+        return accounts;
+    }
+    
+    static List<Card> cards(int count) {
+        List<Card> cards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Card card = validCard();
+            card.setId((long) i + 1);
+            card.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+            cards.add(card);
+        }
+        return cards;
+    }
+    
+    static Card validCard() {
+        return new Card(1L, "9876543210", "123456789012", "debit", Money.ofMinor(250_000));
+    }
+    
+    static Bank bank() {
+        Bank bank = new Bank("Chase", "Landmark");
+        bank.setId(1L);
+        return bank;
+    }
+}
@@ -0,0 +1,74 @@
+package com.pext.benchmark;
+
+import com.pext.controller.CardController;
+import com.pext.model.Card;
+import com.pext.model.Money;
+import com.pext.repository.CardRepository;
+import com.pext.service.CollectionVersions;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CardController.createCard with the repository stubbed out, so only the
+ * request validation and response assembly are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CardValidationBenchmark {
+    
+    private CardController cardController;
+    private Card validCard;
+    private Card badContactNumber;
+    private Card negativeBalance;
+    
+    @Setup
+    public void setUp() {
+        // save() hands the card back unchanged; nothing else is called on the repository
+        CardRepository cardRepository = (CardRepository) Proxy.newProxyInstance(
+            CardRepository.class.getClassLoader(), new Class<?>[] {CardRepository.class},
+            (proxy, method, args) -> "save".equals(method.getName()) ? args[0] : null);
+        cardController = new CardController();
+        ReflectionTestUtils.setField(cardController, "cardRepository", cardRepository);
+        ReflectionTestUtils.setField(cardController, "collectionVersions", new CollectionVersions());
+        
+        validCard = BenchmarkData.validCard();
+        badContactNumber = BenchmarkData.validCard();
+        badContactNumber.setContactNumber("98765-43210");
+        negativeBalance = BenchmarkData.validCard();
+        negativeBalance.setInitialBalance(Money.ofMinor(-100));
+        
+        // A broken setup would otherwise quietly measure the 500 path
+        expectStatus(validCard(), 201);
+        expectStatus(invalidContactNumber(), 400);
+        expectStatus(negativeBalance(), 400);
+    }
+    
+    private static void expectStatus(ResponseEntity<?> response, int status) {
+        if (response.getStatusCode().value() != status) {
+            throw new IllegalStateException("Expected status " + status + " but got "
+                + response.getStatusCode().value() + ": " + response.getBody());
+        }
+    }
+    
+    @Benchmark
+    public ResponseEntity<?> validCard() {
+        return cardController.createCard(validCard);
+    }
+    
+    @Benchmark
+    public ResponseEntity<?> invalidContactNumber() {
+        return cardController.createCard(badContactNumber);
+    }
+    
+    @Benchmark
+    public ResponseEntity<?> negativeBalance() {
+        return cardController.createCard(negativeBalance);
+    }
+}
@@ -0,0 +1,55 @@
+package com.pext.benchmark;
+
+import com.pext.dto.AccountDTO;
+import com.pext.dto.CardDTO;
+import com.pext.model.Account;
+import com.pext.model.Bank;
+import com.pext.model.Card;
+import org.openjdk.jmh.annotations.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of assembling the account and card list responses from entities.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoBenchmark {
+    
+    @Param({"10", "1000"})
+    public int size;
+    
+    private List<Account> accounts;
+    private List<Card> cards;
+    private Bank bank;
+    
+    @Setup
+    public void setUp() {
+        accounts = BenchmarkData.accounts(size);
+        cards = BenchmarkData.cards(size);
+        bank = BenchmarkData.bank();
+    }
+    
+    @Benchmark
+    public List<AccountDTO> accountDtos() {
+        List<AccountDTO> dtos = new ArrayList<>(accounts.size());
+        for (Account account : accounts) {
+            dtos.add(new AccountDTO(account, bank));
+        }
+        return dtos;
+    }
+    
+    @Benchmark
+    public List<CardDTO> cardDtos() {
+        List<CardDTO> dtos = new ArrayList<>(cards.size());
+        for (Card card : cards) {
+            dtos.add(new CardDTO(card));
+        }
+        return dtos;
+    }
+}
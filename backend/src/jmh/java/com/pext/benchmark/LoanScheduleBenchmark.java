@@ -0,0 +1,65 @@
+package com.pext.benchmark;
+
+import com.pext.dto.LoanSchedule;
+import com.pext.model.Loan;
+import com.pext.model.Money;
+import com.pext.service.LoanScheduleService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.time.LocalDate;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schedule of a 30-year loan: computed from scratch (cache disabled) and
+ * served from the schedule cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoanScheduleBenchmark {
+    
+    private static final LocalDate FIRST_PAYMENT = LocalDate.of(2025, 1, 1);
+    
+    private LoanScheduleService uncached;
+    private LoanScheduleService cached;
+    private Loan loan;
+    private SortedMap<Integer, Money> prepayments;
+    
+    @Setup
+    public void setUp() {
+        uncached = new LoanScheduleService();
+        ReflectionTestUtils.setField(uncached, "cacheSize", 0L);
+        uncached.init();
+        cached = new LoanScheduleService();
+        ReflectionTestUtils.setField(cached, "cacheSize", 100L);
+        cached.init();
+        
+        // 300,000 at 7.5% over 360 months
+        loan = new Loan(1L, "Home Loan", 300_000.0, 2097.64, 300_000.0);
+        loan.setId(1L);
+        loan.setAnnualRate(7.5);
+        prepayments = new TreeMap<>();
+        prepayments.put(60, Money.parse("20000"));
+        cached.schedule(loan, null, null, new TreeMap<>(), FIRST_PAYMENT);
+    }
+    
+    @Benchmark
+    public LoanSchedule compute() {
+        return uncached.schedule(loan, null, null, new TreeMap<>(), FIRST_PAYMENT);
+    }
+    
+    @Benchmark
+    public LoanSchedule computeWithPrepayment() {
+        return uncached.schedule(loan, null, Money.parse("100"), prepayments, FIRST_PAYMENT);
+    }
+    
+    @Benchmark
+    public LoanSchedule cacheHit() {
+        return cached.schedule(loan, null, null, new TreeMap<>(), FIRST_PAYMENT);
+    }
+}
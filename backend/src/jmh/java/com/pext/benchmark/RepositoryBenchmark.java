@@ -0,0 +1,114 @@
+package com.pext.benchmark;
+
+import com.pext.BackendApplication;
+import com.pext.model.Account;
+import com.pext.model.Transaction;
+import com.pext.model.User;
+import com.pext.repository.AccountRepository;
+import com.pext.repository.TransactionRepository;
+import com.pext.repository.UserRepository;
+import com.pext.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Repository finders and login against an embedded H2 database filled by
+ * the load-test seeder at several data sizes. Each call targets a random
+ * seeded user so the benchmark does not just re-read one hot row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryBenchmark {
+    
+    @Param({"100", "1000"})
+    public int users;
+    
+    @Param({"100"})
+    public int transactionsPerAccount;
+    
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private UserRepository userRepository;
+    private AccountRepository accountRepository;
+    private TransactionRepository transactionRepository;
+    private long firstUserId;
+    private SplittableRandom random;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        SpringApplication application = new SpringApplication(BackendApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        // Passed as arguments so they take precedence over application.properties
+        context = application.run(
+            "--spring.datasource.url=jdbc:h2:mem:bench" + System.nanoTime(),
+            "--spring.jpa.show-sql=false",
+            "--logging.level.root=WARN",
+            "--pext.seed.mode=load",
+            "--pext.seed.users=" + users,
+            "--pext.seed.transactions-per-account=" + transactionsPerAccount);
+        
+        userService = context.getBean(UserService.class);
+        userRepository = context.getBean(UserRepository.class);
+        accountRepository = context.getBean(AccountRepository.class);
+        transactionRepository = context.getBean(TransactionRepository.class);
+        firstUserId = userRepository.findAll(PageRequest.of(0, 1)).getContent().get(0).getId();
+        random = new SplittableRandom(7);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    private long randomUserId() {
+        return firstUserId + random.nextInt(users);
+    }
+    
+    @Benchmark
+    public boolean authenticateUser() {
+        // Seeded mobiles are "7" followed by the zero-padded user ID
+        return userService.authenticateUser(String.format("7%09d", randomUserId()), "password123");
+    }
+    
+    @Benchmark
+    public Optional<User> findByUsername() {
+        return userRepository.findByUsername("load_user_" + randomUserId());
+    }
+    
+    @Benchmark
+    public List<Account> accountsByUser() {
+        return accountRepository.findByUserId(randomUserId());
+    }
+    
+    @Benchmark
+    public List<Transaction> transactionsByAccount() {
+        List<Account> accounts = accountRepository.findByUserId(randomUserId());
+        return transactionRepository.findByAccountId(accounts.get(0).getId());
+    }
+    
+    @Benchmark
+    public List<Transaction> transactionsByUserAccounts() {
+        List<Long> accountIds = accountRepository.findByUserId(randomUserId()).stream()
+            .map(Account::getId)
+            .collect(Collectors.toList());
+        return transactionRepository.findByAccountIdIn(accountIds);
+    }
+    
+    @Benchmark
+    public List<Transaction> firstTransactionPage() {
+        List<Account> accounts = accountRepository.findByUserId(randomUserId());
+        return transactionRepository.findFirstPageByAccountId(accounts.get(0).getId(), PageRequest.of(0, 51));
+    }
+}
@@ -0,0 +1,39 @@
+package com.pext.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pext.model.Transaction;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of transaction lists, using an ObjectMapper built
+ * the same way Spring MVC builds its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+    
+    @Param({"100", "1000", "10000"})
+    public int size;
+    
+    private ObjectMapper objectMapper;
+    private List<Transaction> transactions;
+    
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        transactions = BenchmarkData.transactions(size);
+    }
+    
+    @Benchmark
+    public byte[] transactionsToJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(transactions);
+    }
+}
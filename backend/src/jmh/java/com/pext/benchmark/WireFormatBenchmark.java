@@ -0,0 +1,89 @@
+package com.pext.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.pext.config.WireFormatConfig;
+import com.pext.dto.AccountDTO;
+import com.pext.dto.CardDTO;
+import com.pext.model.Account;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Serialization CPU of the list responses in each negotiable wire format,
+ * with and without Blackbird's generated accessors. The encoded size of
+ * every payload is printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+    
+    private static final int SIZE = 1000;
+    
+    @Param({"json", "smile", "cbor"})
+    public String format;
+    
+    @Param({"false", "true"})
+    public boolean blackbird;
+    
+    @Param({"transactions", "accounts", "cards"})
+    public String payload;
+    
+    private ObjectMapper objectMapper;
+    private List<?> items;
+    
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        // Mirrors Spring Boot and WireFormatConfig: ISO dates, binary formats write amounts as decimals
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (!"json".equals(format)) {
+            builder.factory(newFactory(format));
+        }
+        if (blackbird) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        objectMapper = builder.build();
+        if (!"json".equals(format)) {
+            objectMapper.registerModule(WireFormatConfig.binaryMoneyModule());
+        }
+        
+        items = switch (payload) {
+            case "transactions" -> BenchmarkData.transactions(SIZE);
+            case "accounts" -> accountDTOs();
+            case "cards" -> BenchmarkData.cards(SIZE).stream().map(CardDTO::new).collect(Collectors.toList());
+            default -> throw new IllegalArgumentException(payload);
+        };
+        System.out.printf("%n%s x %d as %s: %d bytes%n", payload, SIZE, format, objectMapper.writeValueAsBytes(items).length);
+    }
+    
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(items);
+    }
+    
+    private static JsonFactory newFactory(String format) {
+        return "smile".equals(format) ? new SmileFactory() : new CBORFactory();
+    }
+    
+    private static List<AccountDTO> accountDTOs() {
+        List<AccountDTO> accountDTOs = new ArrayList<>(SIZE);
+        for (Account account : BenchmarkData.accounts(SIZE)) {
+            accountDTOs.add(new AccountDTO(account, BenchmarkData.bank()));
+        }
+        return accountDTOs;
+    }
+}
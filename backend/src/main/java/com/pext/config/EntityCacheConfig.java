@@ -0,0 +1,78 @@
+package com.pext.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate second-level and query cache, enabled with the entity-cache
+ * profile.
+ *
+ * Regions live in a local Caffeine-backed JCache manager built here, so
+ * their size and time-to-live come from pext.cache.* properties. Hibernate
+ * is configured to fail on a region that is not created below, and every
+ * region reports hits and misses through Micrometer (cache.gets etc.).
+ */
+@Configuration
+@Profile("entity-cache")
+public class EntityCacheConfig {
+    
+    // Entity regions, as named by @Cache(region = ...) on Bank, User, Loan and SavingGoal
+    static final String[] ENTITY_REGIONS = {"bank", "user", "loan", "saving-goal"};
+    
+    // Hibernate's own regions for cached query results and per-table update timestamps
+    static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+    
+    @Value("${pext.cache.entity.max-entries:10000}")
+    private long entityMaxEntries;
+    
+    @Value("${pext.cache.entity.ttl:10m}")
+    private Duration entityTtl;
+    
+    @Value("${pext.cache.query.max-entries:10000}")
+    private long queryMaxEntries;
+    
+    @Value("${pext.cache.query.ttl:5m}")
+    private Duration queryTtl;
+    
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(MeterRegistry meterRegistry) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        for (String region : ENTITY_REGIONS) {
+            createRegion(cacheManager, meterRegistry, region, entityMaxEntries, entityTtl);
+        }
+        createRegion(cacheManager, meterRegistry, QUERY_RESULTS_REGION, queryMaxEntries, queryTtl);
+        // Must outlive every cached query result, otherwise stale results could be treated as fresh
+        createRegion(cacheManager, meterRegistry, UPDATE_TIMESTAMPS_REGION, queryMaxEntries, null);
+        return cacheManager;
+    }
+    
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(CacheManager entityCacheManager) {
+        return properties -> properties.put("hibernate.javax.cache.cache_manager", entityCacheManager);
+    }
+    
+    private void createRegion(CacheManager cacheManager, MeterRegistry meterRegistry, String name,
+                              long maxEntries, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        if (ttl != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        configuration.setStatisticsEnabled(true);
+        Cache<Object, Object> cache = cacheManager.createCache(name, configuration);
+        JCacheMetrics.monitor(meterRegistry, cache);
+    }
+}
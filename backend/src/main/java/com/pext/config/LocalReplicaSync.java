@@ -0,0 +1,73 @@
+package com.pext.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Stands in for database replication when the replica is a second local H2
+ * database, e.g. in development and tests.
+ *
+ * Every pext.replica.local-sync-interval-ms the primary is dumped with SCRIPT
+ * and loaded into the replica, which therefore trails the primary by up to
+ * one interval, like an asynchronous replica. The load runs with the replica
+ * in exclusive mode, so reads wait for it instead of seeing half a copy;
+ * H2 only pauses a statement once it is parsed, though, so one naming a
+ * table that is being recreated fails, and ReplicaReads repeats it on the
+ * primary.
+ * Copying the whole database is only meant for small data sets; real
+ * replicas are fed by the database's own replication.
+ */
+@Component
+@Profile("replica")
+@ConditionalOnProperty("pext.replica.local-sync-interval-ms")
+public class LocalReplicaSync {
+    
+    private static final Logger log = LoggerFactory.getLogger(LocalReplicaSync.class);
+    
+    private final JdbcTemplate primary;
+    private final DataSource replicaDataSource;
+    
+    @Autowired
+    public LocalReplicaSync(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                            @Qualifier("replicaDataSource") DataSource replicaDataSource) {
+        this.primary = new JdbcTemplate(primaryDataSource);
+        this.replicaDataSource = replicaDataSource;
+    }
+    
+    @Scheduled(fixedDelayString = "${pext.replica.local-sync-interval-ms}")
+    public void sync() throws SQLException, IOException {
+        long started = System.nanoTime();
+        Path dump = Files.createTempFile("pext-replica", ".sql");
+        try {
+            String file = dump.toAbsolutePath().toString().replace("'", "''");
+            primary.execute("SCRIPT NOPASSWORDS NOSETTINGS TO '" + file + "'");
+            try (Connection connection = replicaDataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("SET EXCLUSIVE 1");
+                try {
+                    statement.execute("DROP ALL OBJECTS");
+                    statement.execute("RUNSCRIPT FROM '" + file + "'");
+                } finally {
+                    statement.execute("SET EXCLUSIVE 0");
+                }
+            }
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+        log.debug("Copied primary to local replica in {} ms", (System.nanoTime() - started) / 1_000_000);
+    }
+}
@@ -0,0 +1,99 @@
+package com.pext.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs EXPLAIN for the SQL behind each repository finder once the
+ * application is up and warns about any plan that falls back to a full
+ * table scan, e.g. because an index migration did not run.
+ *
+ * Plan inspection relies on H2's EXPLAIN output, so the check is skipped
+ * on other databases.
+ */
+@Component
+public class QueryPlanCheck {
+    
+    private static final Logger log = LoggerFactory.getLogger(QueryPlanCheck.class);
+    
+    // Finder -> equivalent SQL with sample arguments. Plans do not depend on the values.
+    private static final Map<String, String> FINDERS = new LinkedHashMap<>();
+    static {
+        FINDERS.put("TransactionRepository.findByAccountId",
+            "SELECT * FROM transactions WHERE account_id = 1");
+        FINDERS.put("TransactionRepository.findByAccountIdIn",
+            "SELECT * FROM transactions WHERE account_id IN (1, 2, 3)");
+        FINDERS.put("TransactionRepository.findFirstPageByAccountId",
+            "SELECT * FROM transactions WHERE account_id = 1 ORDER BY date DESC, id DESC LIMIT 51");
+        FINDERS.put("TransactionRepository.findFirstPage",
+            "SELECT * FROM transactions ORDER BY date DESC, id DESC LIMIT 51");
+        FINDERS.put("TransactionRepository.sumNetAmountByAccountIdBetween",
+            "SELECT SUM(amount_minor) FROM transactions WHERE account_id = 1 " +
+            "AND date > TIMESTAMP '2024-01-01 00:00:00' AND date <= TIMESTAMP '2024-02-01 00:00:00'");
+        FINDERS.put("AccountBalanceSnapshotRepository.findFirstByAccountIdAndAsOfLessThanEqualOrderByAsOfDesc",
+            "SELECT * FROM account_balance_snapshots WHERE account_id = 1 " +
+            "AND as_of <= TIMESTAMP '2024-01-01 00:00:00' ORDER BY as_of DESC LIMIT 1");
+        FINDERS.put("TransactionRollupRepository.findByUserIdAndMonthStartBetween",
+            "SELECT * FROM transaction_rollups WHERE user_id = 1 " +
+            "AND month_start BETWEEN DATE '2024-01-01' AND DATE '2024-12-01'");
+        FINDERS.put("TransactionRollupRepository.findByAccountIdAndMonthStartBetween",
+            "SELECT * FROM transaction_rollups WHERE account_id = 1 " +
+            "AND month_start BETWEEN DATE '2024-01-01' AND DATE '2024-12-01'");
+        FINDERS.put("AccountRepository.findByUserId",
+            "SELECT * FROM accounts WHERE user_id = 1");
+        FINDERS.put("AccountRepository.findByUserIdAndIsLinkedTrue",
+            "SELECT * FROM accounts WHERE user_id = 1 AND is_linked = TRUE");
+        FINDERS.put("CardRepository.findByUserId",
+            "SELECT * FROM cards WHERE user_id = 1");
+        FINDERS.put("LoanRepository.findByUserId",
+            "SELECT * FROM loans WHERE user_id = 1");
+        FINDERS.put("SavingGoalRepository.findByUserId",
+            "SELECT * FROM saving_goals WHERE user_id = 1");
+        FINDERS.put("UserRepository.findByMobile",
+            "SELECT * FROM users WHERE mobile = '9876543210'");
+        FINDERS.put("UserRepository.findByUsername",
+            "SELECT * FROM users WHERE username = 'user'");
+    }
+    
+    @Value("${pext.schema.plan-check.enabled:true}")
+    private boolean enabled;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkPlans() {
+        if (!enabled || !isH2()) {
+            return;
+        }
+        
+        int scans = 0;
+        for (Map.Entry<String, String> finder : FINDERS.entrySet()) {
+            List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + finder.getValue(), String.class);
+            String planText = String.join("\n", plan);
+            // H2 marks a full scan as "/* PUBLIC.<TABLE>.tableScan */"
+            if (planText.contains(".tableScan")) {
+                scans++;
+                log.warn("{} falls back to a table scan:\n{}", finder.getKey(), planText);
+            }
+        }
+        if (scans == 0) {
+            log.info("Query plan check passed: all {} finders use an index", FINDERS.size());
+        }
+    }
+    
+    private boolean isH2() {
+        String product = jdbcTemplate.execute(
+            (java.sql.Connection connection) -> connection.getMetaData().getDatabaseProductName());
+        return "H2".equals(product);
+    }
+}
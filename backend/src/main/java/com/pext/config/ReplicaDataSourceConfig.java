@@ -0,0 +1,63 @@
+package com.pext.config;
+
+import com.pext.service.ReplicaReads;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Read/write split, enabled with the replica profile.
+ *
+ * The application's DataSource routes each connection either to the
+ * primary (spring.datasource.*) or to a read replica
+ * (pext.replica.datasource.*). Only reads made through {@link ReplicaReads}
+ * go to the replica; JPA, Flyway, batch jobs and every write keep using the
+ * primary. Both pools are Hikari pools with their own hikari.* settings.
+ *
+ * The target is chosen when a connection is taken, which is why
+ * spring.jpa.open-in-view is off: a request-wide EntityManager would keep
+ * its first connection, primary or replica, for every later query.
+ */
+@Configuration
+@Profile("replica")
+public class ReplicaDataSourceConfig {
+    
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+    
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+    
+    @Bean
+    @ConfigurationProperties("pext.replica.datasource")
+    public HikariDataSource replicaDataSource() {
+        return DataSourceBuilder.create().type(HikariDataSource.class).build();
+    }
+    
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource) {
+        AbstractRoutingDataSource routing = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return ReplicaReads.isReplicaRead() ? REPLICA : PRIMARY;
+            }
+        };
+        routing.setTargetDataSources(Map.of(PRIMARY, primaryDataSource, REPLICA, replicaDataSource));
+        routing.setDefaultTargetDataSource(primaryDataSource);
+        return routing;
+    }
+}
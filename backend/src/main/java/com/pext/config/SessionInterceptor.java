@@ -0,0 +1,53 @@
+package com.pext.config;
+
+import com.pext.service.SessionStore;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Resolves the session token sent with a request to the caller's user ID
+ * and exposes it as the {@link #USER_ID} request attribute.
+ *
+ * Requests without a token pass through unchanged; a token that is unknown
+ * or expired is rejected with 401.
+ */
+@Component
+public class SessionInterceptor implements HandlerInterceptor {
+    
+    public static final String TOKEN_HEADER = "X-Session-Token";
+    public static final String USER_ID = "sessionUserId";
+    
+    private static final String BEARER_PREFIX = "Bearer ";
+    
+    @Autowired
+    private SessionStore sessionStore;
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        String token = extractToken(request);
+        if (token == null) {
+            return true;
+        }
+        
+        Long userId = sessionStore.resolve(token);
+        if (userId == null) {
+            response.setStatus(401);
+            response.setContentType("application/json");
+            response.getWriter().write("{\"message\":\"Session expired or invalid\"}");
+            return false;
+        }
+        request.setAttribute(USER_ID, userId);
+        return true;
+    }
+    
+    public static String extractToken(HttpServletRequest request) {
+        String authorization = request.getHeader("Authorization");
+        if (authorization != null && authorization.startsWith(BEARER_PREFIX)) {
+            return authorization.substring(BEARER_PREFIX.length()).trim();
+        }
+        return request.getHeader(TOKEN_HEADER);
+    }
+}
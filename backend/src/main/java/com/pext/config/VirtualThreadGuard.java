@@ -0,0 +1,84 @@
+package com.pext.config;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Safety checks for the virtual-threads profile.
+ *
+ * Warns when the profile is active on a JVM older than 21 (Spring then
+ * silently keeps platform threads), and listens to the JFR
+ * jdk.VirtualThreadPinned event so that any request blocking while pinned
+ * to its carrier thread, typically I/O inside a synchronized block, is
+ * logged with the frames from our own code.
+ */
+@Component
+@Profile("virtual-threads")
+public class VirtualThreadGuard {
+    
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadGuard.class);
+    
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APP_PACKAGE = "com.pext.";
+    
+    @Value("${pext.virtual-threads.pinned-threshold-ms:20}")
+    private long pinnedThresholdMillis;
+    
+    private final AtomicLong pinnedEvents = new AtomicLong();
+    private RecordingStream recording;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        int javaVersion = Runtime.version().feature();
+        if (javaVersion < 21) {
+            log.warn("virtual-threads profile is active but the JVM is Java {}; requests stay on platform threads", javaVersion);
+            return;
+        }
+        
+        recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(pinnedThresholdMillis)).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::reportPinned);
+        recording.startAsync();
+        log.info("Watching for virtual threads pinned longer than {} ms", pinnedThresholdMillis);
+    }
+    
+    public long getPinnedEvents() {
+        return pinnedEvents.get();
+    }
+    
+    private void reportPinned(RecordedEvent event) {
+        pinnedEvents.incrementAndGet();
+        StringBuilder frames = new StringBuilder();
+        if (event.getStackTrace() != null) {
+            List<RecordedFrame> stack = event.getStackTrace().getFrames();
+            for (RecordedFrame frame : stack) {
+                String type = frame.getMethod().getType().getName();
+                if (type.startsWith(APP_PACKAGE)) {
+                    frames.append("\n    at ").append(type).append('.').append(frame.getMethod().getName())
+                        .append(" line ").append(frame.getLineNumber());
+                }
+            }
+        }
+        log.warn("Virtual thread pinned for {} ms{}", event.getDuration().toMillis(),
+            frames.length() > 0 ? frames : " (outside application code)");
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.pext.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.pext.model.Money;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import java.io.IOException;
+
+/**
+ * Jackson setup shared by every wire format.
+ *
+ * Besides JSON, controllers can answer in Smile (application/x-jackson-smile)
+ * or CBOR (application/cbor) when the client asks for it in Accept. Both
+ * mappers are built from Spring Boot's builder, so they share the JSON
+ * mapper's modules and settings, but amounts go out as binary decimals
+ * instead of strings. Blackbird replaces reflective getter and setter
+ * calls with generated lambdas for all formats.
+ *
+ * Since one URL can answer in any of these formats, and the ETags do not
+ * name the format, API responses carry Vary: Accept so that HTTP caches
+ * keep the formats apart.
+ */
+@Configuration
+public class WireFormatConfig implements WebMvcConfigurer {
+    
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Set before the handler runs, so 304 and error responses carry it too
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                return true;
+            }
+        }).addPathPatterns("/api/**");
+    }
+    
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+    
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        ObjectMapper mapper = builder.factory(new SmileFactory()).build();
+        mapper.registerModule(binaryMoneyModule());
+        return new MappingJackson2SmileHttpMessageConverter(mapper);
+    }
+    
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        ObjectMapper mapper = builder.factory(new CBORFactory()).build();
+        mapper.registerModule(binaryMoneyModule());
+        return new MappingJackson2CborHttpMessageConverter(mapper);
+    }
+    
+    /**
+     * Writes Money as a native decimal number. JSON keeps the string form so
+     * JavaScript clients never round amounts through a double; binary
+     * clients decode decimals exactly. Reading accepts either form.
+     */
+    public static Module binaryMoneyModule() {
+        SimpleModule module = new SimpleModule("BinaryMoney");
+        module.addSerializer(Money.class, new StdSerializer<>(Money.class) {
+            @Override
+            public void serialize(Money value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+                generator.writeNumber(value.toBigDecimal());
+            }
+        });
+        return module;
+    }
+}
@@ -1,18 +1,29 @@
 package com.pext.controller;
 
+import com.pext.config.SessionInterceptor;
 import com.pext.dto.AccountDTO;
 import com.pext.model.Account;
 import com.pext.model.Bank;
+import com.pext.model.Money;
 import com.pext.repository.AccountRepository;
-import com.pext.repository.BankRepository;
+import com.pext.service.AccountService;
+import com.pext.service.BankCatalog;
+import com.pext.service.CollectionVersions;
+import com.pext.service.LedgerService;
+import com.pext.service.ReplicaReads;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/accounts")
@@ -22,33 +33,65 @@ public class AccountController {
     private AccountRepository accountRepository;
     
     @Autowired
-    private BankRepository bankRepository;
+    private CollectionVersions collectionVersions;
+    
+    @Autowired
+    private BankCatalog bankCatalog;
+    
+    @Autowired
+    private LedgerService ledgerService;
+    
+    @Autowired
+    private AccountService accountService;
+    
+    @Autowired
+    private ReplicaReads replicaReads;
     
     @GetMapping
-    public ResponseEntity<List<AccountDTO>> getAccounts(@RequestParam(required = false) Long userId) {
+    public ResponseEntity<List<AccountDTO>> getAccounts(@RequestParam(required = false) Long userId,
+                                                        @RequestAttribute(name = SessionInterceptor.USER_ID, required = false) Long sessionUserId,
+                                                        @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // A session identifies the caller; the userId parameter is only used without one
+        if (sessionUserId != null) {
+            userId = sessionUserId;
+        }
+        
         if (userId == null) {
             return ResponseEntity.ok(List.of());
         }
         
-        List<Account> accounts = accountRepository.findByUserId(userId);
+        // Read the version before the data: a concurrent write then only makes the tag stale, never the body
+        String etag = collectionVersions.etag(CollectionVersions.ACCOUNTS, userId);
+        if (collectionVersions.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(304).eTag(etag).build();
+        }
+        
+        Long ownerId = userId;
+        List<Account> accounts = replicaReads.read(CollectionVersions.ACCOUNTS, ownerId,
+            () -> accountRepository.findByUserId(ownerId));
         List<AccountDTO> accountDTOs = new ArrayList<>();
         
+        // Resolve all banks up front; unknown IDs cost one batched query at most
+        Set<Long> bankIds = new HashSet<>();
+        for (Account account : accounts) {
+            bankIds.add(account.getBankId());
+        }
+        Map<Long, Bank> banks = bankCatalog.resolve(bankIds);
+        
         for (Account account : accounts) {
-            Optional<Bank> bankOpt = bankRepository.findById(account.getBankId());
-            Bank bank = bankOpt.orElse(null);
+            Bank bank = banks.get(account.getBankId());
             AccountDTO accountDTO = new AccountDTO(account, bank);
             accountDTOs.add(accountDTO);
         }
         
-        return ResponseEntity.ok(accountDTOs);
+        return ResponseEntity.ok().eTag(etag).body(accountDTOs);
     }
     
     @PostMapping
     public ResponseEntity<?> createAccount(@RequestBody Account account) {
         try {
-            Account savedAccount = accountRepository.save(account);
-            Optional<Bank> bankOpt = bankRepository.findById(savedAccount.getBankId());
-            Bank bank = bankOpt.orElse(null);
+            Account savedAccount = accountService.create(account);
+            Bank bank = bankCatalog.get(savedAccount.getBankId());
             AccountDTO accountDTO = new AccountDTO(savedAccount, bank);
             return ResponseEntity.status(201).body(accountDTO);
         } catch (Exception e) {
@@ -65,8 +108,8 @@ public class AccountController {
             Account account = accountOpt.get();
             account.setIsLinked(payload.get("isLinked"));
             Account updatedAccount = accountRepository.save(account);
-            Optional<Bank> bankOpt = bankRepository.findById(updatedAccount.getBankId());
-            Bank bank = bankOpt.orElse(null);
+            collectionVersions.changed(CollectionVersions.ACCOUNTS, updatedAccount.getUserId());
+            Bank bank = bankCatalog.get(updatedAccount.getBankId());
             AccountDTO accountDTO = new AccountDTO(updatedAccount, bank);
             return ResponseEntity.ok(accountDTO);
         } else {
@@ -75,4 +118,40 @@ public class AccountController {
             return ResponseEntity.status(404).body(errorResponse);
         }
     }
-}
\ No newline at end of file
+    
+    /**
+     * Balance computed from the transaction ledger, as of the given time or
+     * now. Without asOf the stored account balance is returned alongside so
+     * the two can be reconciled. With a session, only the caller's own
+     * accounts are found.
+     */
+    @GetMapping("/{id}/balance")
+    public ResponseEntity<?> getBalance(@PathVariable Long id,
+                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf,
+                                        @RequestAttribute(name = SessionInterceptor.USER_ID, required = false) Long sessionUserId) {
+        Optional<Account> account = accountRepository.findById(id);
+        if (account.isEmpty() || (sessionUserId != null && !sessionUserId.equals(account.get().getUserId()))) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("message", "Account not found");
+            return ResponseEntity.status(404).body(errorResponse);
+        }
+        
+        LocalDateTime at = asOf != null ? asOf : LocalDateTime.now();
+        Money balance = ledgerService.balanceAsOf(id, at);
+        if (balance == null) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("message", "Account not found");
+            return ResponseEntity.status(404).body(errorResponse);
+        }
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("accountId", id);
+        response.put("asOf", at);
+        response.put("balance", balance);
+        if (asOf == null) {
+            response.put("recordedBalance", account.get().getBalance());
+            response.put("reconciled", balance.equals(account.get().getBalance()));
+        }
+        return ResponseEntity.ok(response);
+    }
+}
@@ -2,7 +2,10 @@ package com.pext.controller;
 
 import com.pext.model.Bank;
 import com.pext.repository.BankRepository;
+import com.pext.service.BankCatalog;
+import com.pext.service.CollectionVersions;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
@@ -14,10 +17,21 @@ public class BankController {
     @Autowired
     private BankRepository bankRepository;
     
+    @Autowired
+    private BankCatalog bankCatalog;
+    
+    @Autowired
+    private CollectionVersions collectionVersions;
+    
     @GetMapping
-    public ResponseEntity<List<Bank>> getAllBanks() {
-        List<Bank> banks = bankRepository.findAll();
-        return ResponseEntity.ok(banks);
+    public ResponseEntity<List<Bank>> getAllBanks(@RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = collectionVersions.etag(CollectionVersions.BANKS, null);
+        if (collectionVersions.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(304).eTag(etag).build();
+        }
+        
+        List<Bank> banks = bankCatalog.getAll();
+        return ResponseEntity.ok().eTag(etag).body(banks);
     }
     
     // Method to seed banks (for initial setup)
@@ -40,5 +54,9 @@ public class BankController {
                 bankRepository.save(bank);
             }
         }
+        
+        // Load the catalog once the banks table is in its final state
+        bankCatalog.refresh();
+        collectionVersions.changed(CollectionVersions.BANKS, null);
     }
 }
\ No newline at end of file
@@ -1,14 +1,25 @@
 package com.pext.controller;
 
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.pext.config.SessionInterceptor;
 import com.pext.dto.CardDTO;
+import com.pext.dto.TransactionCursor;
+import com.pext.dto.TransactionView;
 import com.pext.model.Card;
-import com.pext.model.Transaction;
 import com.pext.repository.CardRepository;
 import com.pext.repository.TransactionRepository;
+import com.pext.service.CollectionVersions;
+import com.pext.service.ReplicaReads;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -19,27 +30,46 @@ import java.util.stream.Collectors;
 @RequestMapping("/api/cards")
 public class CardController {
     
+    // Bounds used when a statement request leaves out from/to
+    private static final LocalDateTime STATEMENT_START = LocalDateTime.of(1900, 1, 1, 0, 0);
+    private static final LocalDateTime STATEMENT_END = LocalDateTime.of(9999, 12, 31, 0, 0);
+    
     @Autowired
     private CardRepository cardRepository;
     
     @Autowired
-    private TransactionRepository transactionRepository;
+    private CollectionVersions collectionVersions;
+    
+    @Autowired
+    private ReplicaReads replicaReads;
     
     @Autowired
-    private com.pext.repository.AccountRepository accountRepository;
+    private TransactionRepository transactionRepository;
     
     @GetMapping
-    public ResponseEntity<List<CardDTO>> getCards(@RequestParam(required = false) Long userId) {
+    public ResponseEntity<List<CardDTO>> getCards(@RequestParam(required = false) Long userId,
+                                                  @RequestAttribute(name = SessionInterceptor.USER_ID, required = false) Long sessionUserId,
+                                                  @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (sessionUserId != null) {
+            userId = sessionUserId;
+        }
+        
         if (userId == null) {
             return ResponseEntity.ok(List.of());
         }
         
-        List<Card> cards = cardRepository.findByUserId(userId);
+        String etag = collectionVersions.etag(CollectionVersions.CARDS, userId);
+        if (collectionVersions.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(304).eTag(etag).build();
+        }
+        
+        Long ownerId = userId;
+        List<Card> cards = replicaReads.read(CollectionVersions.CARDS, ownerId, () -> cardRepository.findByUserId(ownerId));
         List<CardDTO> cardDTOs = cards.stream()
             .map(CardDTO::new)
             .collect(Collectors.toList());
         
-        return ResponseEntity.ok(cardDTOs);
+        return ResponseEntity.ok().eTag(etag).body(cardDTOs);
     }
     
     @PostMapping
@@ -64,7 +94,7 @@ public class CardController {
                 return ResponseEntity.status(400).body(errorResponse);
             }
             
-            if (card.getInitialBalance() == null || card.getInitialBalance().trim().isEmpty()) {
+            if (card.getInitialBalance() == null) {
                 Map<String, String> errorResponse = new HashMap<>();
                 errorResponse.put("message", "Initial balance is required");
                 return ResponseEntity.status(400).body(errorResponse);
@@ -84,21 +114,15 @@ public class CardController {
                 return ResponseEntity.status(400).body(errorResponse);
             }
             
-            // Validate initial balance is a positive number
-            try {
-                double balance = Double.parseDouble(card.getInitialBalance());
-                if (balance < 0) {
-                    Map<String, String> errorResponse = new HashMap<>();
-                    errorResponse.put("message", "Initial balance must be a positive number");
-                    return ResponseEntity.status(400).body(errorResponse);
-                }
-            } catch (NumberFormatException e) {
+            // Validate initial balance is a positive number (its format is checked when the body is parsed)
+            if (card.getInitialBalance().isNegative()) {
                 Map<String, String> errorResponse = new HashMap<>();
-                errorResponse.put("message", "Invalid initial balance format");
+                errorResponse.put("message", "Initial balance must be a positive number");
                 return ResponseEntity.status(400).body(errorResponse);
             }
             
             Card savedCard = cardRepository.save(card);
+            collectionVersions.changed(CollectionVersions.CARDS, savedCard.getUserId());
             CardDTO cardDTO = new CardDTO(savedCard);
             return ResponseEntity.status(201).body(cardDTO);
         } catch (Exception e) {
@@ -108,38 +132,71 @@ public class CardController {
         }
     }
     
+    /**
+     * The initial balance is parsed into Money while the body is read, so a
+     * malformed amount fails before createCard runs; answer it with the same
+     * message the controller used to give.
+     */
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<Map<String, String>> handleUnreadableBody(HttpMessageNotReadableException e) {
+        Map<String, String> errorResponse = new HashMap<>();
+        if (e.getCause() instanceof JsonMappingException
+                && ((JsonMappingException) e.getCause()).getPath().stream()
+                    .anyMatch(reference -> "initialBalance".equals(reference.getFieldName()))) {
+            errorResponse.put("message", "Invalid initial balance format");
+        } else {
+            errorResponse.put("message", "Invalid request body");
+        }
+        return ResponseEntity.status(400).body(errorResponse);
+    }
+    
+    /**
+     * Card statement. Cards are not linked to a specific account yet, so this
+     * lists the transactions of every account owned by the card's user,
+     * newest first, optionally limited to [from, to). With a cursor or a
+     * limit the statement is paged like /api/transactions, the next page's
+     * token in X-Next-Cursor; without either it is returned whole.
+     */
     @GetMapping("/{cardId}/transactions")
-    public ResponseEntity<List<Transaction>> getCardTransactions(@PathVariable Long cardId) {
+    public ResponseEntity<List<TransactionView>> getCardTransactions(
+            @PathVariable Long cardId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        TransactionCursor after;
         try {
-            // Find the card by ID
-            Card card = cardRepository.findById(cardId).orElse(null);
-            if (card == null) {
-                Map<String, String> errorResponse = new HashMap<>();
-                errorResponse.put("message", "Card not found");
+            after = cursor != null ? TransactionCursor.decode(cursor) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ArrayList<>());
+        }
+        
+        try {
+            boolean paged = cursor != null || limit != null;
+            int pageSize = limit == null
+                ? TransactionController.DEFAULT_PAGE_SIZE
+                : Math.max(1, Math.min(limit, TransactionController.MAX_PAGE_SIZE));
+            // One extra row tells whether another page exists
+            Pageable pageable = paged ? PageRequest.of(0, pageSize + 1) : Pageable.unpaged();
+            LocalDateTime start = from != null ? from : STATEMENT_START;
+            LocalDateTime end = to != null ? to : STATEMENT_END;
+            List<TransactionView> transactions = after == null
+                ? transactionRepository.findCardStatement(cardId, start, end, pageable)
+                : transactionRepository.findCardStatementAfter(cardId, start, end, after.getDate(), after.getId(), pageable);
+            
+            // An empty statement is the only case where the card might not exist
+            if (transactions.isEmpty() && !cardRepository.existsById(cardId)) {
                 return ResponseEntity.status(404).body(new ArrayList<>());
             }
             
-            // Since cards don't directly link to accounts in the current model, we'll return transactions
-            // for all accounts of the user. In a real implementation, you might want to create a proper
-            // relationship between cards and accounts.
-            // For now, we'll return transactions for all accounts owned by the same user
-            List<com.pext.model.Account> userAccounts = accountRepository.findByUserId(card.getUserId());
-            
-            // Extract account IDs
-            List<Long> accountIds = userAccounts.stream()
-                .map(com.pext.model.Account::getId)
-                .collect(Collectors.toList());
-            
-            // Get transactions for these accounts
-            List<Transaction> transactions = new ArrayList<>();
-            if (!accountIds.isEmpty()) {
-                transactions = transactionRepository.findByAccountIdIn(accountIds);
+            if (paged && transactions.size() > pageSize) {
+                List<TransactionView> page = transactions.subList(0, pageSize);
+                return ResponseEntity.ok()
+                    .header("X-Next-Cursor", TransactionCursor.after(page.get(pageSize - 1)).encode())
+                    .body(page);
             }
-            
             return ResponseEntity.ok(transactions);
         } catch (Exception e) {
-            Map<String, String> errorResponse = new HashMap<>();
-            errorResponse.put("message", "Failed to fetch card transactions: " + e.getMessage());
             return ResponseEntity.status(500).body(new ArrayList<>());
         }
     }
@@ -147,13 +204,15 @@ public class CardController {
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteCard(@PathVariable Long id) {
         try {
-            if (!cardRepository.existsById(id)) {
+            Card card = cardRepository.findById(id).orElse(null);
+            if (card == null) {
                 Map<String, String> errorResponse = new HashMap<>();
                 errorResponse.put("message", "Card not found");
                 return ResponseEntity.status(404).body(errorResponse);
             }
             
-            cardRepository.deleteById(id);
+            cardRepository.delete(card);
+            collectionVersions.changed(CollectionVersions.CARDS, card.getUserId());
             Map<String, String> successResponse = new HashMap<>();
             successResponse.put("message", "Card deleted successfully");
             return ResponseEntity.ok(successResponse);
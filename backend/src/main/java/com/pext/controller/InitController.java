@@ -2,24 +2,65 @@ package com.pext.controller;
 
 import com.pext.controller.BankController;
 import com.pext.model.*;
+import com.pext.service.DashboardService;
+import com.pext.service.LedgerService;
+import com.pext.service.LoadTestSeeder;
+import com.pext.service.SavingGoalForecastService;
+import com.pext.service.TransactionRollupService;
 import com.pext.service.UserService;
 import com.pext.repository.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
-import jakarta.annotation.PostConstruct;
 import java.time.LocalDateTime;
 import java.util.Random;
 
 @RestController
 public class InitController {
     
+    private static final Logger log = LoggerFactory.getLogger(InitController.class);
+    
     @Autowired
     private BankController bankController;
     
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private DashboardService dashboardService;
+    
+    @Autowired
+    private LoadTestSeeder loadTestSeeder;
+    
+    @Autowired
+    private LedgerService ledgerService;
+    
+    @Autowired
+    private TransactionRollupService rollupService;
+    
+    @Autowired
+    private SavingGoalForecastService forecastService;
+    
+    // "demo" seeds a handful of hand-written users, "load" generates benchmark-sized data, "none" skips seeding
+    @Value("${pext.seed.mode:demo}")
+    private String seedMode;
+    
+    // Run seeding and data maintenance on a background thread instead of holding up startup
+    @Value("${pext.seed.background:false}")
+    private boolean seedInBackground;
+    
+    // The server accepts requests before seeding is done; health reports it as starting until then
+    private volatile boolean seeded;
+    
+    // Set when background seeding threw; health then reports the failure instead of starting forever
+    private volatile boolean seedFailed;
+    
     @Autowired
     private AccountRepository accountRepository;
     
@@ -34,13 +75,64 @@ public class InitController {
     
     private Random random = new Random();
     
-    @PostConstruct
+    /**
+     * Seeds and reconciles data once the application is up, outside bean
+     * initialization. Every step is skipped cheaply when the data already
+     * exists, so restarts against a populated database stay fast.
+     */
+    @EventListener(ApplicationReadyEvent.class)
     public void init() {
+        if (seedInBackground) {
+            Thread seeder = new Thread(this::seedInBackground, "startup-seed");
+            seeder.setDaemon(true);
+            seeder.start();
+        } else {
+            seed();
+        }
+    }
+    
+    /**
+     * Nobody waits on the background thread, so a failure is logged and
+     * reported through health. In the foreground it still fails startup.
+     */
+    private void seedInBackground() {
+        try {
+            seed();
+        } catch (RuntimeException e) {
+            seedFailed = true;
+            log.error("Startup seeding ({}) failed", seedMode, e);
+        }
+    }
+    
+    private void seed() {
+        long started = System.nanoTime();
         // Seed banks on application startup
         bankController.seedBanks();
         
-        // Seed demo users if none exist
-        seedDemoUsers();
+        if ("load".equals(seedMode)) {
+            if (userService.getAllUsersCount() == 0) {
+                loadTestSeeder.seed();
+            }
+        } else if ("demo".equals(seedMode)) {
+            // Seed demo users if none exist
+            seedDemoUsers();
+        }
+        
+        // Seeded accounts bypass the ledger and rollups; give them opening balances,
+        // initial checkpoints and category rollups in bulk
+        if (ledgerService.openMissing() > 0) {
+            ledgerService.checkpoint();
+        }
+        // Checked on its own, so rollups left behind by an earlier interrupted start or a bulk load are repaired too
+        if (rollupService.isStale()) {
+            rollupService.rebuild();
+        }
+        // Goals created since the last nightly run have no forecast yet
+        if (forecastService.hasUnforecastGoals()) {
+            forecastService.forecastAll();
+        }
+        seeded = true;
+        log.info("Startup seeding ({}) finished in {} ms", seedMode, (System.nanoTime() - started) / 1_000_000);
     }
     
     private void seedDemoUsers() {
@@ -74,6 +166,8 @@ public class InitController {
                 User savedUser = userService.createUser(user);
                 // Generate realistic demo data for each user
                 generateDemoDataForUser(savedUser);
+                // Seeding bypasses the incremental hooks, so build the summary in one go
+                dashboardService.rebuild(savedUser.getId());
             }
         }
     }
@@ -125,7 +219,7 @@ public class InitController {
         
         // Random balance between $1,000 and $50,000
         double balance = 1000 + (50000 - 1000) * random.nextDouble();
-        account.setBalance(String.valueOf(balance));
+        account.setBalance(Money.of(balance));
         
         account.setIsLinked(true);
         account.setCreatedAt(LocalDateTime.now().minusDays(random.nextInt(365))); // Random creation date within last year
@@ -149,7 +243,7 @@ public class InitController {
         } else {
             amount = 5 + (2000 - 5) * random.nextDouble(); // $5-$2000 for debits
         }
-        transaction.setAmount(String.valueOf(amount));
+        transaction.setAmount(Money.of(amount));
         
         // Random categories
         String[] categories = {"Food", "Shopping", "Travel", "Bills", "Transfer", "Entertainment", "Others"};
@@ -210,8 +304,12 @@ public class InitController {
         double totalAmount = 5000 + (500000 - 5000) * random.nextDouble();
         loan.setTotalAmount(totalAmount);
         
-        // EMI is roughly 1-3% of total amount per month
-        double emiAmount = totalAmount * (0.01 + 0.02 * random.nextDouble()) / 12;
+        // Rate between 6% and 14% a year, EMI that repays the loan over 5 to 30 years
+        double annualRate = Math.round((6 + 8 * random.nextDouble()) * 100) / 100.0;
+        loan.setAnnualRate(annualRate);
+        int months = 12 * (5 + random.nextInt(26));
+        double monthlyRate = annualRate / 1200;
+        double emiAmount = totalAmount * monthlyRate / (1 - Math.pow(1 + monthlyRate, -months));
         loan.setEmiAmount(emiAmount);
         
         // Remaining amount is a percentage of total
@@ -236,7 +334,13 @@ public class InitController {
     }
     
     @GetMapping("/api/health")
-    public String health() {
-        return "OK";
+    public ResponseEntity<String> health() {
+        if (seedFailed) {
+            return ResponseEntity.status(503).body("SEED_FAILED");
+        }
+        if (!seeded) {
+            return ResponseEntity.status(503).body("STARTING");
+        }
+        return ResponseEntity.ok("OK");
     }
 }
\ No newline at end of file
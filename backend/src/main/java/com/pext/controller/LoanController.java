@@ -1,11 +1,25 @@
 package com.pext.controller;
 
+import com.pext.config.SessionInterceptor;
+import com.pext.dto.LoanSchedule;
 import com.pext.model.Loan;
+import com.pext.model.Money;
 import com.pext.repository.LoanRepository;
+import com.pext.service.CollectionVersions;
+import com.pext.service.LoanScheduleService;
+import com.pext.service.ReplicaReads;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 @RestController
 @RequestMapping("/api/loans")
@@ -14,13 +28,102 @@ public class LoanController {
     @Autowired
     private LoanRepository loanRepository;
     
+    @Autowired
+    private CollectionVersions collectionVersions;
+    
+    @Autowired
+    private LoanScheduleService loanScheduleService;
+    
+    @Autowired
+    private ReplicaReads replicaReads;
+    
     @GetMapping
-    public ResponseEntity<List<Loan>> getLoans(@RequestParam(required = false) Long userId) {
+    public ResponseEntity<List<Loan>> getLoans(@RequestParam(required = false) Long userId,
+                                               @RequestAttribute(name = SessionInterceptor.USER_ID, required = false) Long sessionUserId,
+                                               @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (sessionUserId != null) {
+            userId = sessionUserId;
+        }
+        
         if (userId == null) {
             return ResponseEntity.ok(List.of());
         }
         
-        List<Loan> loans = loanRepository.findByUserId(userId);
-        return ResponseEntity.ok(loans);
+        String etag = collectionVersions.etag(CollectionVersions.LOANS, userId);
+        if (collectionVersions.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(304).eTag(etag).build();
+        }
+        
+        Long ownerId = userId;
+        List<Loan> loans = replicaReads.read(CollectionVersions.LOANS, ownerId, () -> loanRepository.findByUserId(ownerId));
+        return ResponseEntity.ok().eTag(etag).body(loans);
+    }
+    
+    /**
+     * Month-by-month repayment schedule of a loan and its payoff date. For a
+     * what-if scenario pass extraMonthly (paid with every EMI) and/or prepay
+     * entries of the form "number:amount", e.g. prepay=12:5000 for a one-off
+     * payment with the 12th EMI. The first payment defaults to the first of
+     * next month.
+     */
+    @GetMapping("/{id}/schedule")
+    public ResponseEntity<?> getSchedule(@PathVariable Long id,
+                                         @RequestParam(required = false) Double annualRate,
+                                         @RequestParam(required = false) String extraMonthly,
+                                         @RequestParam(required = false) List<String> prepay,
+                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate firstPayment,
+                                         @RequestAttribute(name = SessionInterceptor.USER_ID, required = false) Long sessionUserId) {
+        Optional<Loan> loan = loanRepository.findById(id);
+        if (loan.isEmpty() || (sessionUserId != null && !sessionUserId.equals(loan.get().getUserId()))) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("message", "Loan not found");
+            return ResponseEntity.status(404).body(errorResponse);
+        }
+        
+        try {
+            Money extra = extraMonthly != null ? Money.parse(extraMonthly) : null;
+            // The rate, passed in or stored, is checked by the schedule service
+            if (extra != null && extra.isNegative()) {
+                throw new IllegalArgumentException("Extra payments must not be negative");
+            }
+            SortedMap<Integer, Money> prepayments = parsePrepayments(prepay);
+            LocalDate first = firstPayment != null ? firstPayment : LocalDate.now().withDayOfMonth(1).plusMonths(1);
+            LoanSchedule schedule = loanScheduleService.schedule(loan.get(), annualRate, extra, prepayments, first);
+            return ResponseEntity.ok(schedule);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+    }
+    
+    private static SortedMap<Integer, Money> parsePrepayments(List<String> entries) {
+        SortedMap<Integer, Money> prepayments = new TreeMap<>();
+        if (entries == null) {
+            return prepayments;
+        }
+        for (String entry : entries) {
+            int separator = entry.indexOf(':');
+            int number;
+            try {
+                number = separator > 0 ? Integer.parseInt(entry.substring(0, separator).trim()) : -1;
+            } catch (NumberFormatException e) {
+                number = -1;
+            }
+            if (number < 1 || number > LoanScheduleService.MAX_PAYMENTS) {
+                throw new IllegalArgumentException("Prepayments must look like number:amount, with number from 1 to "
+                    + LoanScheduleService.MAX_PAYMENTS);
+            }
+            Money amount = Money.parse(entry.substring(separator + 1));
+            if (amount.isNegative()) {
+                throw new IllegalArgumentException("Prepayments must not be negative");
+            }
+            try {
+                prepayments.merge(number, amount, Money::plus);
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException("Prepayments are too large");
+            }
+        }
+        return prepayments;
     }
-}
\ No newline at end of file
+}
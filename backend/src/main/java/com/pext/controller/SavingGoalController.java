@@ -1,8 +1,12 @@
 package com.pext.controller;
 
+import com.pext.config.SessionInterceptor;
 import com.pext.model.SavingGoal;
 import com.pext.repository.SavingGoalRepository;
+import com.pext.service.CollectionVersions;
+import com.pext.service.ReplicaReads;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
@@ -14,13 +18,32 @@ public class SavingGoalController {
     @Autowired
     private SavingGoalRepository savingGoalRepository;
     
+    @Autowired
+    private CollectionVersions collectionVersions;
+    
+    @Autowired
+    private ReplicaReads replicaReads;
+    
     @GetMapping
-    public ResponseEntity<List<SavingGoal>> getSavingGoals(@RequestParam(required = false) Long userId) {
+    public ResponseEntity<List<SavingGoal>> getSavingGoals(@RequestParam(required = false) Long userId,
+                                                           @RequestAttribute(name = SessionInterceptor.USER_ID, required = false) Long sessionUserId,
+                                                           @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (sessionUserId != null) {
+            userId = sessionUserId;
+        }
+        
         if (userId == null) {
             return ResponseEntity.ok(List.of());
         }
         
-        List<SavingGoal> savingGoals = savingGoalRepository.findByUserId(userId);
-        return ResponseEntity.ok(savingGoals);
+        String etag = collectionVersions.etag(CollectionVersions.SAVING_GOALS, userId);
+        if (collectionVersions.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(304).eTag(etag).build();
+        }
+        
+        Long ownerId = userId;
+        List<SavingGoal> savingGoals = replicaReads.read(CollectionVersions.SAVING_GOALS, ownerId,
+            () -> savingGoalRepository.findByUserId(ownerId));
+        return ResponseEntity.ok().eTag(etag).body(savingGoals);
     }
 }
\ No newline at end of file
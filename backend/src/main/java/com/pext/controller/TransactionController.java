@@ -1,27 +1,321 @@
 package com.pext.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pext.config.SessionInterceptor;
+import com.pext.dto.CategoryBreakdown;
+import com.pext.dto.StatementImportProgress;
+import com.pext.dto.TransactionBatchResult;
+import com.pext.dto.TransactionCursor;
+import com.pext.model.Account;
 import com.pext.model.Transaction;
+import com.pext.repository.AccountRepository;
 import com.pext.repository.TransactionRepository;
+import com.pext.service.CollectionVersions;
+import com.pext.service.ReplicaReads;
+import com.pext.service.StatementImportService;
+import com.pext.service.StatementReader;
+import com.pext.service.TransactionIngestService;
+import com.pext.service.TransactionRollupService;
+import com.pext.service.TransactionSearchIndex;
+import com.pext.service.TransactionStreamService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/transactions")
 public class TransactionController {
     
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 500;
+    
+    // Rows written between flushes in streaming mode
+    private static final int STREAM_FLUSH_EVERY = 200;
+    
+    // Months covered by a category breakdown when no range is given, including the current one
+    private static final int DEFAULT_BREAKDOWN_MONTHS = 12;
+    
     @Autowired
     private TransactionRepository transactionRepository;
     
+    @Autowired
+    private TransactionStreamService transactionStreamService;
+    
+    @Autowired
+    private TransactionIngestService transactionIngestService;
+    
+    @Autowired
+    private TransactionRollupService rollupService;
+    
+    @Autowired
+    private TransactionSearchIndex searchIndex;
+    
+    @Autowired
+    private StatementImportService statementImportService;
+    
+    @Autowired
+    private ReplicaReads replicaReads;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Value("${pext.ingest.max-rows:100000}")
+    private int maxBatchRows;
+    
+    /**
+     * Returns transactions, newest first. With a cursor or a limit the result
+     * is paged: when more rows exist the token for the next page is sent in
+     * the X-Next-Cursor header. Without either, every row is returned, as
+     * clients written before paging expect.
+     */
     @GetMapping
-    public ResponseEntity<List<Transaction>> getTransactions(@RequestParam(required = false) Long accountId) {
+    public ResponseEntity<?> getTransactions(@RequestParam(required = false) Long accountId,
+                                             @RequestParam(required = false) String cursor,
+                                             @RequestParam(required = false) Integer limit) {
+        TransactionCursor after;
+        try {
+            after = cursor != null ? TransactionCursor.decode(cursor) : null;
+        } catch (IllegalArgumentException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("message", "Invalid cursor");
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+        
+        boolean paged = cursor != null || limit != null;
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // Fetch one extra row to learn whether another page exists without a count query
+        Pageable pageable = paged ? PageRequest.of(0, pageSize + 1) : Pageable.unpaged();
+        
+        List<Transaction> transactions;
         if (accountId == null) {
-            List<Transaction> transactions = transactionRepository.findAll();
-            return ResponseEntity.ok(transactions);
+            // Spans every user, so no collection version can vouch for the replica; read the primary
+            transactions = after == null
+                ? transactionRepository.findFirstPage(pageable)
+                : transactionRepository.findPageAfter(after.getDate(), after.getId(), pageable);
         } else {
-            List<Transaction> transactions = transactionRepository.findByAccountId(accountId);
-            return ResponseEntity.ok(transactions);
+            // Stored transactions move the owner's accounts version, so the replica is used only when it has them
+            Long ownerId = accountRepository.findById(accountId).map(Account::getUserId).orElse(null);
+            transactions = replicaReads.read(CollectionVersions.ACCOUNTS, ownerId, () -> after == null
+                ? transactionRepository.findFirstPageByAccountId(accountId, pageable)
+                : transactionRepository.findPageByAccountIdAfter(accountId, after.getDate(), after.getId(), pageable));
+        }
+        
+        if (paged && transactions.size() > pageSize) {
+            List<Transaction> page = transactions.subList(0, pageSize);
+            String nextCursor = TransactionCursor.after(page.get(pageSize - 1)).encode();
+            return ResponseEntity.ok()
+                .header("X-Next-Cursor", nextCursor)
+                .body(page);
+        }
+        return ResponseEntity.ok(transactions);
+    }
+    
+    /**
+     * Writes every matching transaction to the response as it is read from
+     * the database, without paging and without buffering the result.
+     */
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamTransactions(@RequestParam(required = false) Long accountId) {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.writeStartArray();
+                int[] written = {0};
+                transactionStreamService.forEachTransaction(accountId, transaction -> {
+                    try {
+                        generator.writeObject(transaction);
+                        if (++written[0] % STREAM_FLUSH_EVERY == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(body);
+    }
+    
+    /**
+     * Stores many transactions in one request. Rows that fail validation are
+     * listed in the response by index; the remaining rows are still stored.
+     * Rows are bound as raw JSON so that a malformed amount or date only
+     * rejects its own row.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> createTransactions(@RequestBody List<JsonNode> rows,
+                                                @RequestAttribute(name = SessionInterceptor.USER_ID, required = false) Long sessionUserId) {
+        if (rows == null || rows.isEmpty()) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("message", "No transactions to store");
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+        if (rows.size() > maxBatchRows) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("message", "At most " + maxBatchRows + " transactions per batch");
+            return ResponseEntity.status(413).body(errorResponse);
+        }
+        
+        TransactionBatchResult result = transactionIngestService.ingestJson(rows, sessionUserId);
+        return ResponseEntity.ok(result);
+    }
+    
+    /**
+     * Imports a CSV or OFX bank statement sent as the raw request body into
+     * the given account. The body is parsed as it arrives; the response is a
+     * stream of JSON lines, one progress report per stored chunk and a final
+     * one marked done. The format comes from the format parameter or else
+     * from the Content-Type (text/csv, application/x-ofx).
+     */
+    @PostMapping("/import")
+    public ResponseEntity<StreamingResponseBody> importStatement(@RequestParam Long accountId,
+                                             @RequestParam(required = false) String format,
+                                             @RequestParam(required = false) String dateFormat,
+                                             @RequestHeader(name = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+                                             @RequestAttribute(name = SessionInterceptor.USER_ID, required = false) Long sessionUserId,
+                                             HttpServletRequest request) {
+        Optional<Account> account = accountRepository.findById(accountId);
+        if (account.isEmpty() || (sessionUserId != null && !sessionUserId.equals(account.get().getUserId()))) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("message", "Account not found");
+            return ResponseEntity.status(404).contentType(MediaType.APPLICATION_JSON).body(jsonBody(errorResponse));
+        }
+        
+        StatementReader reader;
+        try {
+            reader = statementImportService.open(format != null ? format : statementFormat(contentType),
+                request.getInputStream(), dateFormat);
+        } catch (IllegalArgumentException | IOException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("message", e instanceof IOException ? "Could not read statement" : e.getMessage());
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(jsonBody(errorResponse));
+        }
+        
+        StreamingResponseBody body = out -> statementImportService.importStatement(reader, account.get(), progress -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(progress));
+                out.write('\n');
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
+    }
+    
+    // Error bodies of streaming endpoints, which cannot return a plain object
+    private StreamingResponseBody jsonBody(Object value) {
+        return out -> objectMapper.writeValue(out, value);
+    }
+    
+    private static String statementFormat(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        String type = contentType.toLowerCase();
+        if (type.contains("csv")) {
+            return StatementImportService.CSV;
+        }
+        if (type.contains("ofx")) {
+            return StatementImportService.OFX;
+        }
+        return null;
+    }
+    
+    /**
+     * Transaction counts and totals per month, category and type, read from
+     * the pre-aggregated rollups. from and to are inclusive months (yyyy-MM)
+     * and default to the last twelve months.
+     */
+    @GetMapping("/breakdown")
+    public ResponseEntity<?> getCategoryBreakdown(@RequestParam(required = false) Long userId,
+                                                  @RequestParam(required = false) Long accountId,
+                                                  @RequestParam(required = false) String from,
+                                                  @RequestParam(required = false) String to,
+                                                  @RequestAttribute(name = SessionInterceptor.USER_ID, required = false) Long sessionUserId) {
+        if (sessionUserId != null) {
+            userId = sessionUserId;
+        }
+        if (userId == null && accountId == null) {
+            return ResponseEntity.ok(List.of());
+        }
+        
+        YearMonth toMonth;
+        YearMonth fromMonth;
+        try {
+            toMonth = to != null ? YearMonth.parse(to) : YearMonth.now();
+            fromMonth = from != null ? YearMonth.parse(from) : toMonth.minusMonths(DEFAULT_BREAKDOWN_MONTHS - 1);
+        } catch (DateTimeParseException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("message", "Months must be formatted as yyyy-MM");
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+        
+        List<CategoryBreakdown> breakdown = rollupService.breakdown(userId, accountId, fromMonth, toMonth);
+        return ResponseEntity.ok(breakdown);
+    }
+    
+    /**
+     * Transactions of a user whose description or category contains a word
+     * starting with each word of the query. The most recently recorded
+     * matches are returned, newest first; X-Total-Count carries the number
+     * of matches.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> searchTransactions(@RequestParam String q,
+                                                @RequestParam(required = false) Long userId,
+                                                @RequestParam(required = false) Integer limit,
+                                                @RequestAttribute(name = SessionInterceptor.USER_ID, required = false) Long sessionUserId) {
+        if (sessionUserId != null) {
+            userId = sessionUserId;
+        }
+        if (userId == null) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("message", "User ID is required");
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+        if (q.isBlank()) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("message", "Search query is required");
+            return ResponseEntity.badRequest().body(errorResponse);
         }
+        
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        long[] matches = searchIndex.search(userId, q);
+        List<Long> ids = Arrays.stream(matches, 0, Math.min(pageSize, matches.length)).boxed().toList();
+        
+        List<Transaction> transactions = new ArrayList<>(transactionRepository.findAllById(ids));
+        transactions.sort(Comparator.comparing(Transaction::getDate, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Transaction::getId, Comparator.reverseOrder()));
+        return ResponseEntity.ok()
+            .header("X-Total-Count", String.valueOf(matches.length))
+            .body(transactions);
     }
-}
\ No newline at end of file
+}
@@ -1,10 +1,21 @@
 package com.pext.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pext.config.SessionInterceptor;
 import com.pext.model.User;
+import com.pext.service.DashboardService;
+import com.pext.service.SessionStore;
+import com.pext.service.StatementExportService;
 import com.pext.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -16,6 +27,18 @@ public class UserController {
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private DashboardService dashboardService;
+    
+    @Autowired
+    private SessionStore sessionStore;
+    
+    @Autowired
+    private StatementExportService statementExportService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
     @PostMapping("/users")
     public ResponseEntity<?> createUser(@RequestBody User user) {
         try {
@@ -58,9 +81,13 @@ public class UserController {
             return ResponseEntity.badRequest().body(errorResponse);
         }
         
-        if (userService.authenticateUser(mobile, password)) {
-            Optional<User> user = userService.getUserByMobile(mobile);
-            return ResponseEntity.ok(user.get());
+        Optional<User> user = userService.authenticate(mobile, password);
+        if (user.isPresent()) {
+            // Later requests identify the caller by this token instead of a userId parameter
+            String token = sessionStore.create(user.get().getId());
+            return ResponseEntity.ok()
+                .header(SessionInterceptor.TOKEN_HEADER, token)
+                .body(user.get());
         } else {
             Map<String, String> errorResponse = new HashMap<>();
             errorResponse.put("message", "Invalid credentials");
@@ -68,15 +95,22 @@ public class UserController {
         }
     }
     
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(HttpServletRequest request) {
+        sessionStore.revoke(SessionInterceptor.extractToken(request));
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Logged out");
+        return ResponseEntity.ok(response);
+    }
+    
     @GetMapping("/users/{id}/dashboard")
     public ResponseEntity<?> getUserDashboard(@PathVariable Long id) {
         Optional<User> user = userService.getUserById(id);
         if (user.isPresent()) {
             Map<String, Object> dashboardData = new HashMap<>();
             dashboardData.put("user", user.get());
-            
-            // This would typically include aggregated data from accounts, transactions, etc.
-            // For now, returning the user data as a starting point
+            // Aggregates come from the materialized summary, not from scanning accounts/transactions
+            dashboardData.put("summary", dashboardService.getSummary(id));
             return ResponseEntity.ok(dashboardData);
         } else {
             Map<String, String> errorResponse = new HashMap<>();
@@ -84,4 +118,26 @@ public class UserController {
             return ResponseEntity.status(404).body(errorResponse);
         }
     }
-}
\ No newline at end of file
+    
+    /**
+     * The user's transactions across all accounts as a CSV download, newest
+     * first. Rows are streamed from the database as they are written.
+     */
+    @GetMapping("/users/{id}/statement.csv")
+    public ResponseEntity<StreamingResponseBody> exportStatement(@PathVariable Long id,
+                                                                 @RequestAttribute(name = SessionInterceptor.USER_ID, required = false) Long sessionUserId) {
+        if ((sessionUserId != null && !sessionUserId.equals(id)) || userService.getUserById(id).isEmpty()) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("message", "User not found");
+            return ResponseEntity.status(404).contentType(MediaType.APPLICATION_JSON)
+                .body(out -> objectMapper.writeValue(out, errorResponse));
+        }
+        
+        StreamingResponseBody body = out -> statementExportService.export(id, out);
+        return ResponseEntity.ok()
+            .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("statement-" + id + ".csv").build().toString())
+            .body(body);
+    }
+}
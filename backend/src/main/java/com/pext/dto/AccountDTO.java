@@ -2,6 +2,7 @@ package com.pext.dto;
 
 import com.pext.model.Account;
 import com.pext.model.Bank;
+import com.pext.model.Money;
 
 public class AccountDTO {
     private Long id;
@@ -10,10 +11,10 @@ public class AccountDTO {
     private String bankName;
     private String accountNumber;
     private String type;
-    private String balance;
+    private Money balance;
     private Boolean isLinked;
-    private String loanAmount;
-    private String loanPaid;
+    private Money loanAmount;
+    private Money loanPaid;
     private java.time.LocalDateTime createdAt;
 
     public AccountDTO(Account account, Bank bank) {
@@ -79,11 +80,11 @@ public class AccountDTO {
         this.type = type;
     }
 
-    public String getBalance() {
+    public Money getBalance() {
         return balance;
     }
 
-    public void setBalance(String balance) {
+    public void setBalance(Money balance) {
         this.balance = balance;
     }
 
@@ -95,19 +96,19 @@ public class AccountDTO {
         this.isLinked = isLinked;
     }
 
-    public String getLoanAmount() {
+    public Money getLoanAmount() {
         return loanAmount;
     }
 
-    public void setLoanAmount(String loanAmount) {
+    public void setLoanAmount(Money loanAmount) {
         this.loanAmount = loanAmount;
     }
 
-    public String getLoanPaid() {
+    public Money getLoanPaid() {
         return loanPaid;
     }
 
-    public void setLoanPaid(String loanPaid) {
+    public void setLoanPaid(Money loanPaid) {
         this.loanPaid = loanPaid;
     }
 
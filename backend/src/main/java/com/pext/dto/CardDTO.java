@@ -1,6 +1,7 @@
 package com.pext.dto;
 
 import com.pext.model.Card;
+import com.pext.model.Money;
 
 public class CardDTO {
     private Long id;
@@ -8,7 +9,7 @@ public class CardDTO {
     private String contactNumber;
     private String cardAccountNumber;
     private String accountType;
-    private String initialBalance;
+    private Money initialBalance;
     private java.time.LocalDateTime createdAt;
 
     public CardDTO(Card card) {
@@ -62,11 +63,11 @@ public class CardDTO {
         this.accountType = accountType;
     }
 
-    public String getInitialBalance() {
+    public Money getInitialBalance() {
         return initialBalance;
     }
 
-    public void setInitialBalance(String initialBalance) {
+    public void setInitialBalance(Money initialBalance) {
         this.initialBalance = initialBalance;
     }
 
@@ -0,0 +1,46 @@
+package com.pext.dto;
+
+import com.pext.model.Money;
+
+/**
+ * Number and total of a user's (or one account's) transactions in one
+ * month, category and type.
+ */
+public class CategoryBreakdown {
+    private final String month;
+    private final String category;
+    private final String type;
+    private long count;
+    private Money amount = Money.ZERO;
+
+    public CategoryBreakdown(String month, String category, String type) {
+        this.month = month;
+        this.category = category;
+        this.type = type;
+    }
+
+    public void add(long count, Money amount) {
+        this.count += count;
+        this.amount = this.amount.plus(amount);
+    }
+
+    public String getMonth() {
+        return month;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public Money getAmount() {
+        return amount;
+    }
+}
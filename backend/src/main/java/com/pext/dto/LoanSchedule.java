@@ -0,0 +1,129 @@
+package com.pext.dto;
+
+import com.pext.model.Money;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Payment schedule of a loan from the next payment until payoff. With
+ * prepayments, interestSaved and paymentsSaved compare the schedule to the
+ * same loan paid by its EMI alone.
+ */
+public class LoanSchedule {
+    private final Long loanId;
+    private final double annualRate;
+    private final LocalDate firstPaymentDate;
+    private final LocalDate payoffDate;
+    private final int payments;
+    private final Money totalPaid;
+    private final Money totalInterest;
+    private final Money interestSaved;
+    private final Integer paymentsSaved;
+    private final List<Row> rows;
+    
+    public LoanSchedule(Long loanId, double annualRate, LocalDate firstPaymentDate, LocalDate payoffDate, int payments,
+                        Money totalPaid, Money totalInterest, Money interestSaved, Integer paymentsSaved, List<Row> rows) {
+        this.loanId = loanId;
+        this.annualRate = annualRate;
+        this.firstPaymentDate = firstPaymentDate;
+        this.payoffDate = payoffDate;
+        this.payments = payments;
+        this.totalPaid = totalPaid;
+        this.totalInterest = totalInterest;
+        this.interestSaved = interestSaved;
+        this.paymentsSaved = paymentsSaved;
+        this.rows = rows;
+    }
+    
+    public Long getLoanId() {
+        return loanId;
+    }
+    
+    public double getAnnualRate() {
+        return annualRate;
+    }
+    
+    public LocalDate getFirstPaymentDate() {
+        return firstPaymentDate;
+    }
+    
+    public LocalDate getPayoffDate() {
+        return payoffDate;
+    }
+    
+    public int getPayments() {
+        return payments;
+    }
+    
+    public Money getTotalPaid() {
+        return totalPaid;
+    }
+    
+    public Money getTotalInterest() {
+        return totalInterest;
+    }
+    
+    public Money getInterestSaved() {
+        return interestSaved;
+    }
+    
+    public Integer getPaymentsSaved() {
+        return paymentsSaved;
+    }
+    
+    public List<Row> getRows() {
+        return rows;
+    }
+    
+    /**
+     * One monthly payment. payment is the scheduled EMI (less in the last
+     * month); extra is any prepayment on top of it, applied to principal.
+     */
+    public static class Row {
+        private final int number;
+        private final LocalDate date;
+        private final Money payment;
+        private final Money principal;
+        private final Money interest;
+        private final Money extra;
+        private final Money balance;
+        
+        public Row(int number, LocalDate date, Money payment, Money principal, Money interest, Money extra, Money balance) {
+            this.number = number;
+            this.date = date;
+            this.payment = payment;
+            this.principal = principal;
+            this.interest = interest;
+            this.extra = extra;
+            this.balance = balance;
+        }
+        
+        public int getNumber() {
+            return number;
+        }
+        
+        public LocalDate getDate() {
+            return date;
+        }
+        
+        public Money getPayment() {
+            return payment;
+        }
+        
+        public Money getPrincipal() {
+            return principal;
+        }
+        
+        public Money getInterest() {
+            return interest;
+        }
+        
+        public Money getExtra() {
+            return extra;
+        }
+        
+        public Money getBalance() {
+            return balance;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.pext.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Running totals of a statement import, reported after every stored chunk.
+ * Counts are cumulative; errors lists only the rows refused since the
+ * previous report, identified by their position in the file.
+ */
+public class StatementImportProgress {
+    
+    // Rows refused beyond this many per report are counted but not listed
+    private static final int MAX_ERRORS_PER_REPORT = 100;
+    
+    private long rows;
+    private long accepted;
+    private long rejected;
+    private boolean done;
+    private final List<TransactionBatchResult.RowError> errors = new ArrayList<>();
+    
+    public void reject(int position, String message) {
+        rejected++;
+        if (errors.size() < MAX_ERRORS_PER_REPORT) {
+            errors.add(new TransactionBatchResult.RowError(position, message));
+        }
+    }
+    
+    public void addRows(long count) {
+        rows += count;
+    }
+    
+    public void addAccepted(long count) {
+        accepted += count;
+    }
+    
+    /**
+     * Starts the next report: errors already sent are dropped.
+     */
+    public void clearErrors() {
+        errors.clear();
+    }
+    
+    public long getRows() {
+        return rows;
+    }
+    
+    public long getAccepted() {
+        return accepted;
+    }
+    
+    public long getRejected() {
+        return rejected;
+    }
+    
+    public boolean isDone() {
+        return done;
+    }
+    
+    public void setDone(boolean done) {
+        this.done = done;
+    }
+    
+    public List<TransactionBatchResult.RowError> getErrors() {
+        return errors;
+    }
+}
@@ -0,0 +1,52 @@
+package com.pext.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk transaction upload: how many rows were stored and why
+ * each rejected row was refused. Rows are identified by their position in
+ * the uploaded array.
+ */
+public class TransactionBatchResult {
+    private int accepted;
+    private final List<RowError> errors = new ArrayList<>();
+
+    public void reject(int index, String message) {
+        errors.add(new RowError(index, message));
+    }
+
+    public int getAccepted() {
+        return accepted;
+    }
+
+    public void setAccepted(int accepted) {
+        this.accepted = accepted;
+    }
+
+    public int getRejected() {
+        return errors.size();
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public static class RowError {
+        private final int index;
+        private final String message;
+
+        public RowError(int index, String message) {
+            this.index = index;
+            this.message = message;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.pext.dto;
+
+import com.pext.model.Transaction;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for transaction listings. Points at the last row of a
+ * page by its (date, id) pair; the next page starts strictly after it.
+ */
+public class TransactionCursor {
+    private final LocalDateTime date;
+    private final Long id;
+
+    public TransactionCursor(LocalDateTime date, Long id) {
+        this.date = date;
+        this.id = id;
+    }
+
+    public static TransactionCursor after(Transaction transaction) {
+        return new TransactionCursor(transaction.getDate(), transaction.getId());
+    }
+
+    public static TransactionCursor after(TransactionView transaction) {
+        return new TransactionCursor(transaction.getDate(), transaction.getId());
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+     */
+    public static TransactionCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new TransactionCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public String encode() {
+        String raw = date + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getDate() {
+        return date;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,68 @@
+package com.pext.dto;
+
+import com.pext.model.Money;
+import java.time.LocalDateTime;
+
+/**
+ * One row of a bulk transaction upload. The amount is always positive; the
+ * type says whether it is credited to or debited from the account.
+ */
+public class TransactionRequest {
+    private Long accountId;
+    private Money amount;
+    private String type;
+    private String category;
+    private String description;
+    private LocalDateTime date;
+
+    public TransactionRequest() {}
+
+    // Getters and Setters
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+
+    public Money getAmount() {
+        return amount;
+    }
+
+    public void setAmount(Money amount) {
+        this.amount = amount;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public LocalDateTime getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDateTime date) {
+        this.date = date;
+    }
+}
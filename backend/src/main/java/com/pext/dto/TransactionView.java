@@ -0,0 +1,59 @@
+package com.pext.dto;
+
+import com.pext.model.Money;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only transaction row produced directly by a query projection, for
+ * listings that never modify what they return. Serializes to the same JSON
+ * as {@link com.pext.model.Transaction}.
+ */
+public class TransactionView {
+    private final Long id;
+    private final Long accountId;
+    private final Money amount;
+    private final String type;
+    private final String category;
+    private final String description;
+    private final LocalDateTime date;
+
+    public TransactionView(Long id, Long accountId, Money amount, String type, String category,
+                           String description, LocalDateTime date) {
+        this.id = id;
+        this.accountId = accountId;
+        this.amount = amount;
+        this.type = type;
+        this.category = category;
+        this.description = description;
+        this.date = date;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public Money getAmount() {
+        return amount;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public LocalDateTime getDate() {
+        return date;
+    }
+}
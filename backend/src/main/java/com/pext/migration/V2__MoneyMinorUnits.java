@@ -0,0 +1,59 @@
+package com.pext.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the old String amount columns to BIGINT minor units.
+ *
+ * Only databases created before amounts became fixed-point still have the
+ * VARCHAR columns. For each one, this adds the *_minor column, copies the
+ * old value across (rounded to whole cents) and drops the old column. On a
+ * fresh database there is nothing to do.
+ */
+@Component
+public class V2__MoneyMinorUnits extends BaseJavaMigration {
+
+    // table, legacy VARCHAR column, replacement BIGINT column, whether it is required
+    private static final String[][] COLUMNS = {
+        {"transactions", "amount", "amount_minor", "true"},
+        {"accounts", "balance", "balance_minor", "true"},
+        {"accounts", "loan_amount", "loan_amount_minor", "false"},
+        {"accounts", "loan_paid", "loan_paid_minor", "false"},
+        {"cards", "initial_balance", "initial_balance_minor", "true"}
+    };
+
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+
+        for (String[] column : COLUMNS) {
+            String table = column[0];
+            String legacy = column[1];
+            String replacement = column[2];
+            if (!columnExists(jdbcTemplate, table, legacy)) {
+                continue;
+            }
+
+            jdbcTemplate.execute("ALTER TABLE " + table + " ADD COLUMN IF NOT EXISTS " + replacement + " BIGINT");
+            jdbcTemplate.update("UPDATE " + table + " SET " + replacement + " = " +
+                "CAST(ROUND(CAST(" + legacy + " AS DECIMAL(38, 10)) * 100, 0) AS BIGINT) " +
+                "WHERE " + replacement + " IS NULL AND " + legacy + " IS NOT NULL");
+            if (Boolean.parseBoolean(column[3])) {
+                jdbcTemplate.update("UPDATE " + table + " SET " + replacement + " = 0 WHERE " + replacement + " IS NULL");
+                jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN " + replacement + " SET NOT NULL");
+            }
+            jdbcTemplate.execute("ALTER TABLE " + table + " DROP COLUMN " + legacy);
+        }
+    }
+
+    private boolean columnExists(JdbcTemplate jdbcTemplate, String table, String column) {
+        Integer count = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS WHERE UPPER(TABLE_NAME) = ? AND UPPER(COLUMN_NAME) = ?",
+            Integer.class, table.toUpperCase(), column.toUpperCase());
+        return count != null && count > 0;
+    }
+}
@@ -4,7 +4,7 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "accounts")
+@Table(name = "accounts", indexes = @Index(name = "idx_accounts_user_linked", columnList = "user_id, is_linked"))
 public class Account {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -22,17 +22,17 @@ public class Account {
     @Column(nullable = false)
     private String type;
     
-    @Column(nullable = false)
-    private String balance = "0";
+    @Column(name = "balance_minor", nullable = false)
+    private Money balance = Money.ZERO;
     
     @Column(name = "is_linked")
     private Boolean isLinked = false;
     
-    @Column(name = "loan_amount")
-    private String loanAmount;
+    @Column(name = "loan_amount_minor")
+    private Money loanAmount;
     
-    @Column(name = "loan_paid")
-    private String loanPaid;
+    @Column(name = "loan_paid_minor")
+    private Money loanPaid;
     
     @Column(name = "created_at")
     private LocalDateTime createdAt;
@@ -94,11 +94,11 @@ public class Account {
         this.type = type;
     }
     
-    public String getBalance() {
+    public Money getBalance() {
         return balance;
     }
     
-    public void setBalance(String balance) {
+    public void setBalance(Money balance) {
         this.balance = balance;
     }
     
@@ -110,19 +110,19 @@ public class Account {
         this.isLinked = isLinked;
     }
     
-    public String getLoanAmount() {
+    public Money getLoanAmount() {
         return loanAmount;
     }
     
-    public void setLoanAmount(String loanAmount) {
+    public void setLoanAmount(Money loanAmount) {
         this.loanAmount = loanAmount;
     }
     
-    public String getLoanPaid() {
+    public Money getLoanPaid() {
         return loanPaid;
     }
     
-    public void setLoanPaid(String loanPaid) {
+    public void setLoanPaid(Money loanPaid) {
         this.loanPaid = loanPaid;
     }
     
@@ -0,0 +1,70 @@
+package com.pext.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Checkpoint of an account's balance: the balance including every
+ * transaction dated at or before {@code asOf}. Each account has an opening
+ * snapshot and further ones are added as its ledger grows.
+ */
+@Entity
+@Table(name = "account_balance_snapshots", indexes = {
+    @Index(name = "uk_balance_snapshots_account_as_of", columnList = "account_id, as_of DESC", unique = true)
+})
+public class AccountBalanceSnapshot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+    
+    @Column(name = "as_of", nullable = false)
+    private LocalDateTime asOf;
+    
+    @Column(name = "balance_minor", nullable = false)
+    private Money balance;
+    
+    // Constructors
+    public AccountBalanceSnapshot() {}
+    
+    public AccountBalanceSnapshot(Long accountId, LocalDateTime asOf, Money balance) {
+        this.accountId = accountId;
+        this.asOf = asOf;
+        this.balance = balance;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getAccountId() {
+        return accountId;
+    }
+    
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+    
+    public LocalDateTime getAsOf() {
+        return asOf;
+    }
+    
+    public void setAsOf(LocalDateTime asOf) {
+        this.asOf = asOf;
+    }
+    
+    public Money getBalance() {
+        return balance;
+    }
+    
+    public void setBalance(Money balance) {
+        this.balance = balance;
+    }
+}
@@ -0,0 +1,28 @@
+package com.pext.model;
+
+/**
+ * Published after a new account has been stored with its opening balance.
+ */
+public final class AccountCreatedEvent {
+    
+    private final Long accountId;
+    private final Long userId;
+    
+    public AccountCreatedEvent(Long accountId, Long userId) {
+        this.accountId = accountId;
+        this.userId = userId;
+    }
+    
+    public Long getAccountId() {
+        return accountId;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    @Override
+    public String toString() {
+        return "AccountCreated[account=" + accountId + ", user=" + userId + "]";
+    }
+}
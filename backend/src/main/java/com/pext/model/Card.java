@@ -4,7 +4,7 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "cards")
+@Table(name = "cards", indexes = @Index(name = "idx_cards_user", columnList = "user_id"))
 public class Card {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -22,8 +22,8 @@ public class Card {
     @Column(name = "account_type", nullable = false)
     private String accountType;
     
-    @Column(name = "initial_balance", nullable = false)
-    private String initialBalance;
+    @Column(name = "initial_balance_minor", nullable = false)
+    private Money initialBalance;
     
     @Column(name = "created_at")
     private LocalDateTime createdAt;
@@ -36,7 +36,7 @@ public class Card {
     // Constructors
     public Card() {}
     
-    public Card(Long userId, String contactNumber, String cardAccountNumber, String accountType, String initialBalance) {
+    public Card(Long userId, String contactNumber, String cardAccountNumber, String accountType, Money initialBalance) {
         this.userId = userId;
         this.contactNumber = contactNumber;
         this.cardAccountNumber = cardAccountNumber;
@@ -86,11 +86,11 @@ public class Card {
         this.accountType = accountType;
     }
     
-    public String getInitialBalance() {
+    public Money getInitialBalance() {
         return initialBalance;
     }
     
-    public void setInitialBalance(String initialBalance) {
+    public void setInitialBalance(Money initialBalance) {
         this.initialBalance = initialBalance;
     }
     
@@ -1,9 +1,13 @@
 package com.pext.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
-@Table(name = "loans")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "loan")
+@Table(name = "loans", indexes = @Index(name = "idx_loans_user", columnList = "user_id"))
 public class Loan {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -24,6 +28,10 @@ public class Loan {
     @Column(name = "remaining_amount")
     private Double remainingAmount;
     
+    // Annual interest rate in percent, e.g. 8.5
+    @Column(name = "annual_rate")
+    private Double annualRate;
+    
     // Constructors
     public Loan() {}
     
@@ -83,4 +91,12 @@ public class Loan {
     public void setRemainingAmount(Double remainingAmount) {
         this.remainingAmount = remainingAmount;
     }
+    
+    public Double getAnnualRate() {
+        return annualRate;
+    }
+    
+    public void setAnnualRate(Double annualRate) {
+        this.annualRate = annualRate;
+    }
 }
\ No newline at end of file
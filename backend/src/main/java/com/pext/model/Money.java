@@ -0,0 +1,138 @@
+package com.pext.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Monetary amount stored as a whole number of minor units (cents).
+ *
+ * Amounts are persisted as BIGINT columns through {@link MoneyConverter}, so
+ * sums and comparisons can run in the database or on primitive longs. On the
+ * wire an amount is still a decimal string such as "1250.50", which keeps the
+ * JSON shape the frontend already expects.
+ */
+public final class Money implements Comparable<Money> {
+    
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0);
+    
+    private static final long MINOR_PER_MAJOR = 100;
+    
+    private final long minorUnits;
+    
+    private Money(long minorUnits) {
+        this.minorUnits = minorUnits;
+    }
+    
+    public static Money ofMinor(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits);
+    }
+    
+    /**
+     * Converts a floating point amount, rounding half-even to whole cents.
+     */
+    public static Money of(double amount) {
+        return of(BigDecimal.valueOf(amount));
+    }
+    
+    public static Money of(BigDecimal amount) {
+        return ofMinor(amount.setScale(SCALE, RoundingMode.HALF_EVEN).unscaledValue().longValueExact());
+    }
+    
+    /**
+     * Parses a decimal string such as "12", "-3.5" or "1250.50". Extra
+     * fraction digits are rounded half-even to whole cents.
+     *
+     * @throws IllegalArgumentException if the text is not a decimal number
+     */
+    public static Money parse(String text) {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Amount is empty");
+        }
+        try {
+            return of(new BigDecimal(text.trim()));
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw new IllegalArgumentException("Invalid amount: " + text, e);
+        }
+    }
+    
+    /**
+     * Accepts both JSON strings ("12.50") and JSON numbers (12.5).
+     */
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    static Money fromJson(Object value) {
+        if (value instanceof Number || value instanceof String) {
+            return parse(value.toString());
+        }
+        throw new IllegalArgumentException("Invalid amount: " + value);
+    }
+    
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+    
+    public Money plus(Money other) {
+        return ofMinor(Math.addExact(minorUnits, other.minorUnits));
+    }
+    
+    public Money minus(Money other) {
+        return ofMinor(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+    
+    public Money negate() {
+        return ofMinor(Math.negateExact(minorUnits));
+    }
+    
+    public Money abs() {
+        return minorUnits < 0 ? negate() : this;
+    }
+    
+    public boolean isNegative() {
+        return minorUnits < 0;
+    }
+    
+    public boolean isZero() {
+        return minorUnits == 0;
+    }
+    
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+    
+    public double toDouble() {
+        return minorUnits / (double) MINOR_PER_MAJOR;
+    }
+    
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money && ((Money) o).minorUnits == minorUnits;
+    }
+    
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits);
+    }
+    
+    @JsonValue
+    @Override
+    public String toString() {
+        long abs = Math.abs(minorUnits);
+        long fraction = abs % MINOR_PER_MAJOR;
+        StringBuilder sb = new StringBuilder(24);
+        if (minorUnits < 0) {
+            sb.append('-');
+        }
+        sb.append(abs / MINOR_PER_MAJOR).append('.');
+        if (fraction < 10) {
+            sb.append('0');
+        }
+        return sb.append(fraction).toString();
+    }
+}
@@ -0,0 +1,21 @@
+package com.pext.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores {@link Money} attributes as BIGINT minor units.
+ */
+@Converter(autoApply = true)
+public class MoneyConverter implements AttributeConverter<Money, Long> {
+    
+    @Override
+    public Long convertToDatabaseColumn(Money money) {
+        return money != null ? money.getMinorUnits() : null;
+    }
+    
+    @Override
+    public Money convertToEntityAttribute(Long minorUnits) {
+        return minorUnits != null ? Money.ofMinor(minorUnits) : null;
+    }
+}
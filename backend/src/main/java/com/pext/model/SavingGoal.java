@@ -1,9 +1,15 @@
 package com.pext.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "saving_goals")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "saving-goal")
+@Table(name = "saving_goals", indexes = @Index(name = "idx_saving_goals_user", columnList = "user_id"))
 public class SavingGoal {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -20,6 +26,16 @@ public class SavingGoal {
     
     private Boolean editable = true;
     
+    // Written by the forecast job only; entity saves leave them alone
+    @Column(name = "forecast_date", insertable = false, updatable = false)
+    private LocalDate forecastDate;
+    
+    @Column(name = "forecast_monthly_saving", insertable = false, updatable = false)
+    private Double forecastMonthlySaving;
+    
+    @Column(name = "forecasted_at", insertable = false, updatable = false)
+    private LocalDateTime forecastedAt;
+    
     // Constructors
     public SavingGoal() {}
     
@@ -68,4 +84,16 @@ public class SavingGoal {
     public void setEditable(Boolean editable) {
         this.editable = editable;
     }
-}
\ No newline at end of file
+    
+    public LocalDate getForecastDate() {
+        return forecastDate;
+    }
+    
+    public Double getForecastMonthlySaving() {
+        return forecastMonthlySaving;
+    }
+    
+    public LocalDateTime getForecastedAt() {
+        return forecastedAt;
+    }
+}
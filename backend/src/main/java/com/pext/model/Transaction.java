@@ -4,7 +4,10 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+    @Index(name = "idx_transactions_account_date", columnList = "account_id, date DESC, id DESC"),
+    @Index(name = "idx_transactions_date_id", columnList = "date DESC, id DESC")
+})
 public class Transaction {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -13,8 +16,8 @@ public class Transaction {
     @Column(name = "account_id", nullable = false)
     private Long accountId;
     
-    @Column(nullable = false)
-    private String amount;
+    @Column(name = "amount_minor", nullable = false)
+    private Money amount;
     
     @Column(nullable = false)
     private String type;
@@ -34,7 +37,7 @@ public class Transaction {
     // Constructors
     public Transaction() {}
     
-    public Transaction(Long accountId, String amount, String type) {
+    public Transaction(Long accountId, Money amount, String type) {
         this.accountId = accountId;
         this.amount = amount;
         this.type = type;
@@ -58,11 +61,11 @@ public class Transaction {
         this.accountId = accountId;
     }
     
-    public String getAmount() {
+    public Money getAmount() {
         return amount;
     }
     
-    public void setAmount(String amount) {
+    public void setAmount(Money amount) {
         this.amount = amount;
     }
     
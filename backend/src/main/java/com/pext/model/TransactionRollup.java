@@ -0,0 +1,110 @@
+package com.pext.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * Count and total of one account's transactions in one month, category and
+ * type. Maintained as transactions are recorded, so category breakdowns are
+ * read from here instead of from the transactions table.
+ */
+@Entity
+@Table(name = "transaction_rollups", indexes = {
+    @Index(name = "uk_transaction_rollups_key", columnList = "account_id, month_start, category, type", unique = true),
+    @Index(name = "idx_transaction_rollups_user_month", columnList = "user_id, month_start")
+})
+public class TransactionRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+    
+    // First day of the month
+    @Column(name = "month_start", nullable = false)
+    private LocalDate monthStart;
+    
+    @Column(nullable = false)
+    private String category;
+    
+    @Column(nullable = false)
+    private String type;
+    
+    @Column(name = "tx_count", nullable = false)
+    private long count;
+    
+    @Column(name = "amount_minor", nullable = false)
+    private Money amount;
+    
+    // Constructors
+    public TransactionRollup() {}
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    
+    public Long getAccountId() {
+        return accountId;
+    }
+    
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+    
+    public LocalDate getMonthStart() {
+        return monthStart;
+    }
+    
+    public void setMonthStart(LocalDate monthStart) {
+        this.monthStart = monthStart;
+    }
+    
+    public String getCategory() {
+        return category;
+    }
+    
+    public void setCategory(String category) {
+        this.category = category;
+    }
+    
+    public String getType() {
+        return type;
+    }
+    
+    public void setType(String type) {
+        this.type = type;
+    }
+    
+    public long getCount() {
+        return count;
+    }
+    
+    public void setCount(long count) {
+        this.count = count;
+    }
+    
+    public Money getAmount() {
+        return amount;
+    }
+    
+    public void setAmount(Money amount) {
+        this.amount = amount;
+    }
+}
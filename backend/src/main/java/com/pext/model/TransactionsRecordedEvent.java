@@ -0,0 +1,29 @@
+package com.pext.model;
+
+/**
+ * Published after a write that stored new transactions for a user, e.g. one
+ * upload or one chunk of a statement import.
+ */
+public final class TransactionsRecordedEvent {
+    
+    private final Long userId;
+    private final int count;
+    
+    public TransactionsRecordedEvent(Long userId, int count) {
+        this.userId = userId;
+        this.count = count;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public int getCount() {
+        return count;
+    }
+    
+    @Override
+    public String toString() {
+        return "TransactionsRecorded[user=" + userId + ", count=" + count + "]";
+    }
+}
@@ -1,10 +1,17 @@
 package com.pext.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
+@Table(name = "users", indexes = {
+    @Index(name = "uk_users_mobile", columnList = "mobile", unique = true),
+    @Index(name = "idx_users_username", columnList = "username")
+})
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,139 @@
+package com.pext.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Pre-aggregated dashboard figures for one user. Kept up to date
+ * incrementally as accounts and transactions are written so the dashboard
+ * is served from a single primary-key read.
+ */
+@Entity
+@Table(name = "user_summaries")
+public class UserSummary {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+    
+    @Column(name = "total_balance_minor", nullable = false)
+    private Money totalBalance = Money.ZERO;
+    
+    @Column(name = "loan_outstanding_minor", nullable = false)
+    private Money loanOutstanding = Money.ZERO;
+    
+    @Column(name = "saving_target_minor", nullable = false)
+    private Money savingTarget = Money.ZERO;
+    
+    @Column(name = "saving_current_minor", nullable = false)
+    private Money savingCurrent = Money.ZERO;
+    
+    // Month (yyyy-MM) that the month-to-date totals belong to
+    @Column(name = "summary_month", nullable = false)
+    private String summaryMonth;
+    
+    @Column(name = "month_debit_minor", nullable = false)
+    private Money monthDebit = Money.ZERO;
+    
+    @Column(name = "month_credit_minor", nullable = false)
+    private Money monthCredit = Money.ZERO;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        updatedAt = LocalDateTime.now();
+    }
+    
+    // Constructors
+    public UserSummary() {}
+    
+    public UserSummary(Long userId, String summaryMonth) {
+        this.userId = userId;
+        this.summaryMonth = summaryMonth;
+    }
+    
+    /**
+     * Share of all saving-goal targets already saved, from 0 to 100.
+     */
+    public Double getSavingProgress() {
+        if (savingTarget == null || savingTarget.getMinorUnits() <= 0) {
+            return 0.0;
+        }
+        return Math.min(100.0, savingCurrent.getMinorUnits() * 100.0 / savingTarget.getMinorUnits());
+    }
+    
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    
+    public Money getTotalBalance() {
+        return totalBalance;
+    }
+    
+    public void setTotalBalance(Money totalBalance) {
+        this.totalBalance = totalBalance;
+    }
+    
+    public Money getLoanOutstanding() {
+        return loanOutstanding;
+    }
+    
+    public void setLoanOutstanding(Money loanOutstanding) {
+        this.loanOutstanding = loanOutstanding;
+    }
+    
+    public Money getSavingTarget() {
+        return savingTarget;
+    }
+    
+    public void setSavingTarget(Money savingTarget) {
+        this.savingTarget = savingTarget;
+    }
+    
+    public Money getSavingCurrent() {
+        return savingCurrent;
+    }
+    
+    public void setSavingCurrent(Money savingCurrent) {
+        this.savingCurrent = savingCurrent;
+    }
+    
+    public String getSummaryMonth() {
+        return summaryMonth;
+    }
+    
+    public void setSummaryMonth(String summaryMonth) {
+        this.summaryMonth = summaryMonth;
+    }
+    
+    public Money getMonthDebit() {
+        return monthDebit;
+    }
+    
+    public void setMonthDebit(Money monthDebit) {
+        this.monthDebit = monthDebit;
+    }
+    
+    public Money getMonthCredit() {
+        return monthCredit;
+    }
+    
+    public void setMonthCredit(Money monthCredit) {
+        this.monthCredit = monthCredit;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,14 @@
+package com.pext.repository;
+
+import com.pext.model.AccountBalanceSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface AccountBalanceSnapshotRepository extends JpaRepository<AccountBalanceSnapshot, Long> {
+    
+    // Nearest checkpoint at or before the given time
+    Optional<AccountBalanceSnapshot> findFirstByAccountIdAndAsOfLessThanEqualOrderByAsOfDesc(Long accountId, LocalDateTime asOf);
+}
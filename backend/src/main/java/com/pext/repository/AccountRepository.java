@@ -2,6 +2,8 @@ package com.pext.repository;
 
 import com.pext.model.Account;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
@@ -9,4 +11,8 @@ import java.util.List;
 public interface AccountRepository extends JpaRepository<Account, Long> {
     List<Account> findByUserId(Long userId);
     List<Account> findByUserIdAndIsLinkedTrue(Long userId);
+    
+    // Sum of balances in minor units, computed by the database
+    @Query(value = "SELECT COALESCE(SUM(balance_minor), 0) FROM accounts WHERE user_id = :userId", nativeQuery = true)
+    long sumBalanceByUserId(@Param("userId") Long userId);
 }
\ No newline at end of file
@@ -1,11 +1,15 @@
 package com.pext.repository;
 
 import com.pext.model.Loan;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
 public interface LoanRepository extends JpaRepository<Loan, Long> {
+    // Result cached in the query cache when the entity-cache profile is active
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<Loan> findByUserId(Long userId);
 }
\ No newline at end of file
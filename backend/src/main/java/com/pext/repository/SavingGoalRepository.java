@@ -1,11 +1,15 @@
 package com.pext.repository;
 
 import com.pext.model.SavingGoal;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
 public interface SavingGoalRepository extends JpaRepository<SavingGoal, Long> {
+    // Result cached in the query cache when the entity-cache profile is active
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<SavingGoal> findByUserId(Long userId);
 }
\ No newline at end of file
@@ -1,12 +1,84 @@
 package com.pext.repository;
 
+import com.pext.dto.TransactionView;
 import com.pext.model.Transaction;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
     List<Transaction> findByAccountId(Long accountId);
     List<Transaction> findByAccountIdIn(List<Long> accountIds);
-}
\ No newline at end of file
+    
+    // Sum of a user's amounts of one type in minor units, computed by the database
+    @Query(value = "SELECT COALESCE(SUM(t.amount_minor), 0) FROM transactions t " +
+                   "JOIN accounts a ON a.id = t.account_id " +
+                   "WHERE a.user_id = :userId AND t.type = :type AND t.date >= :from", nativeQuery = true)
+    long sumAmountByUserIdAndTypeSince(@Param("userId") Long userId, @Param("type") String type,
+                                       @Param("from") LocalDateTime from);
+    
+    // Net effect (credits minus debits, minor units) of an account's transactions dated in (after, upTo]
+    @Query(value = "SELECT COALESCE(SUM(CASE WHEN type = 'credit' THEN amount_minor ELSE -amount_minor END), 0) " +
+                   "FROM transactions WHERE account_id = :accountId AND date > :after AND date <= :upTo", nativeQuery = true)
+    long sumNetAmountByAccountIdBetween(@Param("accountId") Long accountId, @Param("after") LocalDateTime after,
+                                        @Param("upTo") LocalDateTime upTo);
+    
+    // Keyset pagination, newest first. The page size comes from the Pageable,
+    // which must always be page 0 - the cursor (date, id) does the skipping.
+    @Query("SELECT t FROM Transaction t ORDER BY t.date DESC, t.id DESC")
+    List<Transaction> findFirstPage(Pageable pageable);
+    
+    @Query("SELECT t FROM Transaction t WHERE t.date < :date OR (t.date = :date AND t.id < :id) " +
+           "ORDER BY t.date DESC, t.id DESC")
+    List<Transaction> findPageAfter(@Param("date") LocalDateTime date, @Param("id") Long id, Pageable pageable);
+    
+    @Query("SELECT t FROM Transaction t WHERE t.accountId = :accountId ORDER BY t.date DESC, t.id DESC")
+    List<Transaction> findFirstPageByAccountId(@Param("accountId") Long accountId, Pageable pageable);
+    
+    @Query("SELECT t FROM Transaction t WHERE t.accountId = :accountId " +
+           "AND (t.date < :date OR (t.date = :date AND t.id < :id)) " +
+           "ORDER BY t.date DESC, t.id DESC")
+    List<Transaction> findPageByAccountIdAfter(@Param("accountId") Long accountId, @Param("date") LocalDateTime date,
+                                               @Param("id") Long id, Pageable pageable);
+    
+    // Card statement: every transaction on the card owner's accounts, in one query
+    @Query("SELECT new com.pext.dto.TransactionView(t.id, t.accountId, t.amount, t.type, t.category, t.description, t.date) " +
+           "FROM Card c JOIN Account a ON a.userId = c.userId JOIN Transaction t ON t.accountId = a.id " +
+           "WHERE c.id = :cardId AND t.date >= :from AND t.date < :to " +
+           "ORDER BY t.date DESC, t.id DESC")
+    List<TransactionView> findCardStatement(@Param("cardId") Long cardId, @Param("from") LocalDateTime from,
+                                            @Param("to") LocalDateTime to, Pageable pageable);
+    
+    @Query("SELECT new com.pext.dto.TransactionView(t.id, t.accountId, t.amount, t.type, t.category, t.description, t.date) " +
+           "FROM Card c JOIN Account a ON a.userId = c.userId JOIN Transaction t ON t.accountId = a.id " +
+           "WHERE c.id = :cardId AND t.date >= :from AND t.date < :to " +
+           "AND (t.date < :date OR (t.date = :date AND t.id < :id)) " +
+           "ORDER BY t.date DESC, t.id DESC")
+    List<TransactionView> findCardStatementAfter(@Param("cardId") Long cardId, @Param("from") LocalDateTime from,
+                                                 @Param("to") LocalDateTime to, @Param("date") LocalDateTime date,
+                                                 @Param("id") Long id, Pageable pageable);
+    
+    // Cursor-backed streams; callers must consume them inside a transaction and close them
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Transaction t ORDER BY t.date DESC, t.id DESC")
+    Stream<Transaction> streamAll();
+    
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Transaction t WHERE t.accountId = :accountId ORDER BY t.date DESC, t.id DESC")
+    Stream<Transaction> streamByAccountId(@Param("accountId") Long accountId);
+}
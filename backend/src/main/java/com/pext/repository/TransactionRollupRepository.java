@@ -0,0 +1,13 @@
+package com.pext.repository;
+
+import com.pext.model.TransactionRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface TransactionRollupRepository extends JpaRepository<TransactionRollup, Long> {
+    List<TransactionRollup> findByUserIdAndMonthStartBetween(Long userId, LocalDate from, LocalDate to);
+    List<TransactionRollup> findByAccountIdAndMonthStartBetween(Long accountId, LocalDate from, LocalDate to);
+}
@@ -0,0 +1,19 @@
+package com.pext.repository;
+
+import com.pext.model.UserSummary;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.Optional;
+
+@Repository
+public interface UserSummaryRepository extends JpaRepository<UserSummary, Long> {
+    
+    // Row lock for incremental updates so concurrent writers never lose a delta
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UserSummary s WHERE s.userId = :userId")
+    Optional<UserSummary> findForUpdate(@Param("userId") Long userId);
+}
@@ -0,0 +1,38 @@
+package com.pext.service;
+
+import com.pext.model.Account;
+import com.pext.model.AccountCreatedEvent;
+import com.pext.repository.AccountRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class AccountService {
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private LedgerService ledgerService;
+    
+    @Autowired
+    private CollectionVersions collectionVersions;
+    
+    @Autowired
+    private DomainEventPipeline eventPipeline;
+    
+    /**
+     * Stores a new account together with its opening ledger snapshot, so an
+     * account never exists without one. The listing version moves on and
+     * the creation is announced only once both are committed.
+     */
+    @Transactional
+    public Account create(Account account) {
+        Account savedAccount = accountRepository.save(account);
+        ledgerService.open(savedAccount);
+        collectionVersions.changed(CollectionVersions.ACCOUNTS, savedAccount.getUserId());
+        eventPipeline.publishAfterCommit(new AccountCreatedEvent(savedAccount.getId(), savedAccount.getUserId()));
+        return savedAccount;
+    }
+}
@@ -0,0 +1,127 @@
+package com.pext.service;
+
+import com.pext.model.Bank;
+import com.pext.repository.BankRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory, read-mostly view of the banks table.
+ *
+ * Banks are seeded once on startup and practically never change, so account
+ * listings resolve bank names from this catalog instead of issuing one
+ * findById per account. IDs that are not in the catalog yet are fetched in a
+ * single batched query and merged in. IDs the database does not know either
+ * are remembered as missing until the next refresh, so a dangling bank_id
+ * does not cost a query on every listing.
+ */
+@Service
+public class BankCatalog {
+
+    @Autowired
+    private BankRepository bankRepository;
+
+    // Replaced wholesale on refresh/merge so readers never see a partially built map
+    private volatile Map<Long, Bank> banksById = Map.of();
+    
+    // IDs found in neither the catalog nor the database; replaced like banksById
+    private volatile Set<Long> missingIds = Set.of();
+    
+    // Serializes writers. A lock rather than synchronized: refresh() holds it across a
+    // JDBC call, which would pin the carrier thread when running on virtual threads
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    /**
+     * Reloads the whole catalog from the database. Called after the banks
+     * have been seeded and whenever the banks table changes.
+     */
+    public void refresh() {
+        writeLock.lock();
+        try {
+            Map<Long, Bank> loaded = new HashMap<>();
+            for (Bank bank : bankRepository.findAll()) {
+                loaded.put(bank.getId(), bank);
+            }
+            banksById = Map.copyOf(loaded);
+            missingIds = Set.of();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public List<Bank> getAll() {
+        return banksById.values().stream()
+            .sorted(Comparator.comparing(Bank::getId))
+            .collect(Collectors.toList());
+    }
+
+    public Bank get(Long bankId) {
+        if (bankId == null) {
+            return null;
+        }
+        return resolve(Set.of(bankId)).get(bankId);
+    }
+
+    /**
+     * Resolves all given bank IDs, hitting the database at most once for the
+     * IDs that are missing from the catalog.
+     */
+    public Map<Long, Bank> resolve(Collection<Long> bankIds) {
+        Map<Long, Bank> snapshot = banksById;
+        Set<Long> knownMissing = missingIds;
+        Map<Long, Bank> result = new HashMap<>();
+        Set<Long> missing = new HashSet<>();
+
+        for (Long bankId : bankIds) {
+            if (bankId == null) {
+                continue;
+            }
+            Bank bank = snapshot.get(bankId);
+            if (bank != null) {
+                result.put(bankId, bank);
+            } else if (!knownMissing.contains(bankId)) {
+                missing.add(bankId);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            List<Bank> fetched = bankRepository.findAllById(missing);
+            for (Bank bank : fetched) {
+                result.put(bank.getId(), bank);
+                missing.remove(bank.getId());
+            }
+            merge(fetched, missing);
+        }
+
+        return result;
+    }
+
+    private void merge(List<Bank> banks, Set<Long> notFound) {
+        writeLock.lock();
+        try {
+            if (!banks.isEmpty()) {
+                Map<Long, Bank> updated = new HashMap<>(banksById);
+                for (Bank bank : banks) {
+                    updated.put(bank.getId(), bank);
+                }
+                banksById = Map.copyOf(updated);
+            }
+            if (!notFound.isEmpty()) {
+                Set<Long> updatedMissing = new HashSet<>(missingIds);
+                updatedMissing.addAll(notFound);
+                missingIds = Set.copyOf(updatedMissing);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+}
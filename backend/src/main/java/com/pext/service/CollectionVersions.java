@@ -0,0 +1,116 @@
+package com.pext.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Change versions for the collections the dashboard polls, used as ETags.
+ *
+ * Every write to a collection moves its version on, so a GET can compare the
+ * client's If-None-Match with the current version and answer 304 without
+ * querying or serializing anything. A version is the time of the last change
+ * in epoch milliseconds, kept strictly increasing, which also tells whether
+ * a replica that is current up to some point in time has seen the change.
+ * Versions live in memory and start at zero; the ETag also carries the
+ * process start time so that tags issued before a restart never match.
+ */
+@Service
+public class CollectionVersions {
+    
+    public static final String BANKS = "banks";
+    public static final String ACCOUNTS = "accounts";
+    public static final String LOANS = "loans";
+    public static final String SAVING_GOALS = "saving-goals";
+    public static final String CARDS = "cards";
+    
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<String, Long> versions = new ConcurrentHashMap<>();
+    
+    /**
+     * Current ETag of a collection. userId is null for global collections.
+     * Callers take the tag before loading the data, so a concurrent write can
+     * only leave them with a stale tag, never a stale body under a new tag.
+     */
+    public String etag(String collection, Long userId) {
+        String key = key(collection, userId);
+        String version = Long.toString(versions.getOrDefault(key, 0L), 36);
+        if (userId != null) {
+            // Changes made for every user at once are recorded on the collection itself
+            version += "." + Long.toString(versions.getOrDefault(collection, 0L), 36);
+        }
+        return "W/\"" + key + "-" + epoch + "-" + version + "\"";
+    }
+    
+    /**
+     * Records a change to a collection. Inside a transaction the version is
+     * moved on after commit, so a client can never hold the new tag together
+     * with the old data.
+     */
+    public void changed(String collection, Long userId) {
+        bump(key(collection, userId));
+    }
+    
+    /**
+     * Records a change to the collection of every user, e.g. by a batch job,
+     * without keeping a version per user.
+     */
+    public void changedForAllUsers(String collection) {
+        bump(collection);
+    }
+    
+    /**
+     * Whether a user's collection, or the collection of every user, changed
+     * after the given time in epoch milliseconds.
+     */
+    public boolean changedSince(String collection, Long userId, long epochMillis) {
+        return versions.getOrDefault(key(collection, userId), 0L) > epochMillis
+            || (userId != null && versions.getOrDefault(collection, 0L) > epochMillis);
+    }
+    
+    private void bump(String key) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    advance(key);
+                }
+            });
+        } else {
+            advance(key);
+        }
+    }
+    
+    private void advance(String key) {
+        // Two changes within the same millisecond still get distinct versions
+        versions.merge(key, System.currentTimeMillis(), (previous, now) -> Math.max(previous + 1, now));
+    }
+    
+    /**
+     * Whether an If-None-Match header value names the given ETag. Tags are
+     * compared weakly, as RFC 9110 requires for If-None-Match.
+     */
+    public boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaque = stripWeak(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.equals("*") || stripWeak(candidate).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static String stripWeak(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+    
+    private static String key(String collection, Long userId) {
+        return userId == null ? collection : collection + "-" + userId;
+    }
+}
@@ -0,0 +1,270 @@
+package com.pext.service;
+
+import com.pext.dto.TransactionRequest;
+import com.pext.model.Money;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Statement in CSV form. The first line names the columns: date, amount and
+ * description are required (description may also be called memo, payee or
+ * name), type and category are optional. Instead of amount, separate debit
+ * and credit columns are accepted. Without a type column the sign of the
+ * amount decides: negative amounts are debits.
+ *
+ * Records are parsed character by character, so quoted fields may contain
+ * separators, doubled quotes and line breaks, and no more than one record
+ * is held in memory.
+ */
+class CsvStatementReader implements StatementReader {
+    
+    // Longer fields are cut off while reading and the row is refused
+    private static final int MAX_FIELD_LENGTH = 4096;
+    
+    // Further fields are dropped while reading and the row is refused
+    private static final int MAX_FIELDS = 256;
+    
+    private final Reader in;
+    private final DateTimeFormatter dateFormat;
+    private final int dateColumn;
+    private final int amountColumn;
+    private final int debitColumn;
+    private final int creditColumn;
+    private final int descriptionColumn;
+    private final int typeColumn;
+    private final int categoryColumn;
+    
+    private int line = 1;
+    private int recordLine;
+    private boolean recordTooLong;
+    private boolean recordTooWide;
+    private int pushback = -1;
+    
+    CsvStatementReader(Reader in, DateTimeFormatter dateFormat) throws IOException {
+        this.in = in;
+        this.dateFormat = dateFormat;
+        
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new IllegalArgumentException("Statement is empty");
+        }
+        if (recordTooWide) {
+            throw new IllegalArgumentException("CSV header has more than " + MAX_FIELDS + " columns");
+        }
+        List<String> columns = new ArrayList<>();
+        for (String name : header) {
+            columns.add(name.trim().toLowerCase(Locale.ROOT));
+        }
+        // A UTF-8 byte order mark ends up in front of the first column name
+        if (!columns.isEmpty() && columns.get(0).startsWith("\uFEFF")) {
+            columns.set(0, columns.get(0).substring(1));
+        }
+        
+        dateColumn = columns.indexOf("date");
+        amountColumn = columns.indexOf("amount");
+        debitColumn = columns.indexOf("debit");
+        creditColumn = columns.indexOf("credit");
+        descriptionColumn = firstOf(columns, "description", "memo", "payee", "name");
+        typeColumn = columns.indexOf("type");
+        categoryColumn = columns.indexOf("category");
+        
+        if (dateColumn < 0) {
+            throw new IllegalArgumentException("CSV header has no date column");
+        }
+        if (amountColumn < 0 && (debitColumn < 0 || creditColumn < 0)) {
+            throw new IllegalArgumentException("CSV header has no amount column (or debit and credit columns)");
+        }
+        if (descriptionColumn < 0) {
+            throw new IllegalArgumentException("CSV header has no description column");
+        }
+    }
+    
+    @Override
+    public TransactionRequest next() throws IOException {
+        List<String> record;
+        do {
+            record = readRecord();
+            if (record == null) {
+                return null;
+            }
+        } while (record.size() == 1 && record.get(0).isBlank());
+        
+        if (recordTooLong) {
+            throw new IllegalArgumentException("Row is too long");
+        }
+        if (recordTooWide) {
+            throw new IllegalArgumentException("Row has more than " + MAX_FIELDS + " fields");
+        }
+        
+        TransactionRequest row = new TransactionRequest();
+        row.setDate(parseDate(field(record, dateColumn)));
+        row.setDescription(emptyToNull(field(record, descriptionColumn)));
+        row.setCategory(emptyToNull(field(record, categoryColumn)));
+        
+        Money amount;
+        if (amountColumn >= 0) {
+            amount = parseAmount(field(record, amountColumn));
+        } else {
+            String debit = field(record, debitColumn);
+            amount = debit.isBlank()
+                ? parseAmount(field(record, creditColumn)).abs()
+                : parseAmount(debit).abs().negate();
+        }
+        String type = emptyToNull(field(record, typeColumn));
+        if (type == null) {
+            type = amount.isNegative() ? "debit" : "credit";
+        }
+        row.setType(type.toLowerCase(Locale.ROOT));
+        row.setAmount(amount.abs());
+        return row;
+    }
+    
+    @Override
+    public int position() {
+        return recordLine;
+    }
+    
+    private LocalDateTime parseDate(String text) {
+        String value = text.trim();
+        if (value.isEmpty()) {
+            throw new IllegalArgumentException("Date is required");
+        }
+        try {
+            if (dateFormat != null) {
+                return LocalDate.parse(value, dateFormat).atStartOfDay();
+            }
+            return value.length() > 10 ? LocalDateTime.parse(value) : LocalDate.parse(value).atStartOfDay();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date: " + value);
+        }
+    }
+    
+    // Accepts thousands separators, a leading currency symbol and (accounting) negatives
+    private static Money parseAmount(String text) {
+        String value = text.trim().replace(",", "");
+        boolean parenthesized = value.startsWith("(") && value.endsWith(")");
+        if (parenthesized) {
+            value = value.substring(1, value.length() - 1);
+        }
+        String sign = "";
+        if (value.startsWith("-") || value.startsWith("+")) {
+            sign = value.substring(0, 1);
+            value = value.substring(1);
+        }
+        if (!value.isEmpty() && "$\u20AC\u00A3\u20B9".indexOf(value.charAt(0)) >= 0) {
+            value = value.substring(1);
+        }
+        Money amount = Money.parse(sign + value);
+        return parenthesized ? amount.abs().negate() : amount;
+    }
+    
+    /**
+     * Reads one record, or returns null at the end of the input.
+     */
+    private List<String> readRecord() throws IOException {
+        int c = read();
+        if (c < 0) {
+            return null;
+        }
+        recordLine = line;
+        recordTooLong = false;
+        recordTooWide = false;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        
+        while (true) {
+            if (quoted) {
+                if (c < 0) {
+                    throw new IllegalArgumentException("Unterminated quoted field starting on line " + recordLine);
+                }
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        append(field, '"');
+                    } else {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    append(field, (char) c);
+                }
+            } else if (c < 0 || c == '\n' || c == '\r') {
+                if (c == '\r') {
+                    int following = read();
+                    if (following != '\n') {
+                        pushback = following;
+                    }
+                }
+                if (c >= 0) {
+                    line++;
+                }
+                addField(fields, field);
+                return fields;
+            } else if (c == ',') {
+                addField(fields, field);
+                field.setLength(0);
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else {
+                append(field, (char) c);
+            }
+            c = read();
+        }
+    }
+    
+    private void addField(List<String> fields, StringBuilder field) {
+        if (fields.size() < MAX_FIELDS) {
+            fields.add(field.toString());
+        } else {
+            recordTooWide = true;
+        }
+    }
+    
+    private void append(StringBuilder field, char c) {
+        if (field.length() < MAX_FIELD_LENGTH) {
+            field.append(c);
+        } else {
+            recordTooLong = true;
+        }
+    }
+    
+    private int read() throws IOException {
+        if (pushback >= 0) {
+            int c = pushback;
+            pushback = -1;
+            return c;
+        }
+        return in.read();
+    }
+    
+    private static String field(List<String> record, int column) {
+        return column >= 0 && column < record.size() ? record.get(column) : "";
+    }
+    
+    private static String emptyToNull(String value) {
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+    
+    private static int firstOf(List<String> columns, String... names) {
+        for (String name : names) {
+            int index = columns.indexOf(name);
+            if (index >= 0) {
+                return index;
+            }
+        }
+        return -1;
+    }
+}
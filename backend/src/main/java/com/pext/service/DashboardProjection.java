@@ -0,0 +1,83 @@
+package com.pext.service;
+
+import com.pext.model.AccountCreatedEvent;
+import com.pext.model.TransactionsRecordedEvent;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the dashboard summaries up to date from the domain event pipeline.
+ *
+ * A batch of events is reduced to the set of users it touches and each of
+ * them is refreshed once, so an import publishing thousands of events costs
+ * a handful of summary updates. Users of a batch the pipeline gave up on
+ * are remembered and refreshed again on a timer until that succeeds.
+ */
+@Service
+public class DashboardProjection implements DomainEventPipeline.EventConsumer {
+    
+    private static final Logger log = LoggerFactory.getLogger(DashboardProjection.class);
+    
+    @Autowired
+    private DomainEventPipeline eventPipeline;
+    
+    @Autowired
+    private DashboardService dashboardService;
+    
+    // Users whose summaries missed a refresh
+    private final Set<Long> staleUsers = ConcurrentHashMap.newKeySet();
+    
+    @PostConstruct
+    void subscribe() {
+        eventPipeline.subscribe("dashboard", this);
+    }
+    
+    @Override
+    public void onEvents(List<Object> events) {
+        Set<Long> userIds = usersOf(events);
+        if (!userIds.isEmpty()) {
+            dashboardService.refresh(userIds);
+        }
+    }
+    
+    @Override
+    public void onFailed(List<Object> events, RuntimeException e) {
+        staleUsers.addAll(usersOf(events));
+    }
+    
+    @Scheduled(fixedDelayString = "${pext.events.stale-retry-interval-ms:30000}")
+    void refreshStaleUsers() {
+        if (staleUsers.isEmpty()) {
+            return;
+        }
+        List<Long> userIds = new ArrayList<>(staleUsers);
+        staleUsers.removeAll(userIds);
+        try {
+            dashboardService.refresh(userIds);
+        } catch (RuntimeException e) {
+            staleUsers.addAll(userIds);
+            log.warn("Could not refresh {} stale dashboard summaries; retrying later", userIds.size(), e);
+        }
+    }
+    
+    private static Set<Long> usersOf(List<Object> events) {
+        Set<Long> userIds = new LinkedHashSet<>();
+        for (Object event : events) {
+            if (event instanceof TransactionsRecordedEvent) {
+                userIds.add(((TransactionsRecordedEvent) event).getUserId());
+            } else if (event instanceof AccountCreatedEvent) {
+                userIds.add(((AccountCreatedEvent) event).getUserId());
+            }
+        }
+        return userIds;
+    }
+}
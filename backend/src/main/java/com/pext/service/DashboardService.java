@@ -0,0 +1,135 @@
+package com.pext.service;
+
+import com.pext.model.Loan;
+import com.pext.model.Money;
+import com.pext.model.SavingGoal;
+import com.pext.model.TransactionRollup;
+import com.pext.model.UserSummary;
+import com.pext.repository.AccountRepository;
+import com.pext.repository.LoanRepository;
+import com.pext.repository.SavingGoalRepository;
+import com.pext.repository.TransactionRepository;
+import com.pext.repository.TransactionRollupRepository;
+import com.pext.repository.UserSummaryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collection;
+
+/**
+ * Maintains the per-user {@link UserSummary} rows behind the dashboard.
+ *
+ * Account and transaction changes reach the summaries through
+ * {@link DashboardProjection}, after the write committed. Only the balance
+ * and month-to-date totals are refreshed then; a full recomputation only
+ * happens when a user has no summary row yet.
+ */
+@Service
+public class DashboardService {
+    
+    @Autowired
+    private UserSummaryRepository userSummaryRepository;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    @Autowired
+    private LoanRepository loanRepository;
+    
+    @Autowired
+    private SavingGoalRepository savingGoalRepository;
+    
+    @Autowired
+    private TransactionRollupRepository rollupRepository;
+    
+    @Transactional
+    public UserSummary getSummary(Long userId) {
+        UserSummary summary = userSummaryRepository.findById(userId).orElse(null);
+        if (summary == null) {
+            return rebuild(userId);
+        }
+        
+        // No transaction has been recorded yet this month, so its totals are zero
+        String currentMonth = YearMonth.now().toString();
+        if (!currentMonth.equals(summary.getSummaryMonth())) {
+            summary.setSummaryMonth(currentMonth);
+            summary.setMonthDebit(Money.ZERO);
+            summary.setMonthCredit(Money.ZERO);
+        }
+        return summary;
+    }
+    
+    /**
+     * Recomputes a user's summary from scratch. Used the first time a
+     * summary is needed and after bulk loads that bypass the incremental
+     * hooks. All totals are summed by the database.
+     */
+    @Transactional
+    public UserSummary rebuild(Long userId) {
+        YearMonth month = YearMonth.now();
+        UserSummary summary = new UserSummary(userId, month.toString());
+        
+        summary.setTotalBalance(Money.ofMinor(accountRepository.sumBalanceByUserId(userId)));
+        
+        double loanOutstanding = 0;
+        for (Loan loan : loanRepository.findByUserId(userId)) {
+            loanOutstanding += loan.getRemainingAmount() != null ? loan.getRemainingAmount() : 0;
+        }
+        summary.setLoanOutstanding(Money.of(loanOutstanding));
+        
+        double savingTarget = 0;
+        double savingCurrent = 0;
+        for (SavingGoal goal : savingGoalRepository.findByUserId(userId)) {
+            savingTarget += goal.getTargetAmount() != null ? goal.getTargetAmount() : 0;
+            savingCurrent += goal.getCurrentAmount() != null ? goal.getCurrentAmount() : 0;
+        }
+        summary.setSavingTarget(Money.of(savingTarget));
+        summary.setSavingCurrent(Money.of(savingCurrent));
+        
+        LocalDateTime monthStart = month.atDay(1).atStartOfDay();
+        summary.setMonthDebit(Money.ofMinor(transactionRepository.sumAmountByUserIdAndTypeSince(userId, "debit", monthStart)));
+        summary.setMonthCredit(Money.ofMinor(transactionRepository.sumAmountByUserIdAndTypeSince(userId, "credit", monthStart)));
+        
+        return userSummaryRepository.save(summary);
+    }
+    
+    /**
+     * Brings the balance and month-to-date totals of existing summaries up
+     * to date after transactions or accounts changed, from the account
+     * balances and the current month's rollups. Recomputing rather than
+     * adding deltas keeps the result right however late, often or out of
+     * order the changes are reported.
+     */
+    @Transactional
+    public void refresh(Collection<Long> userIds) {
+        YearMonth month = YearMonth.now();
+        LocalDate monthStart = month.atDay(1);
+        for (Long userId : userIds) {
+            UserSummary summary = userSummaryRepository.findForUpdate(userId).orElse(null);
+            if (summary == null) {
+                rebuild(userId);
+                continue;
+            }
+            
+            long debitMinor = 0;
+            long creditMinor = 0;
+            for (TransactionRollup rollup : rollupRepository.findByUserIdAndMonthStartBetween(userId, monthStart, monthStart)) {
+                if ("credit".equals(rollup.getType())) {
+                    creditMinor += rollup.getAmount().getMinorUnits();
+                } else {
+                    debitMinor += rollup.getAmount().getMinorUnits();
+                }
+            }
+            summary.setSummaryMonth(month.toString());
+            summary.setTotalBalance(Money.ofMinor(accountRepository.sumBalanceByUserId(userId)));
+            summary.setMonthDebit(Money.ofMinor(debitMinor));
+            summary.setMonthCredit(Money.ofMinor(creditMinor));
+        }
+    }
+}
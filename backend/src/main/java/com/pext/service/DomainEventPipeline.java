@@ -0,0 +1,350 @@
+package com.pext.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process pipeline that hands committed domain events (see
+ * com.pext.model.*Event) to derived views off the request thread.
+ *
+ * Events go into a bounded ring buffer of pext.events.ring-size slots. Every
+ * subscriber has its own thread and read position and takes all events
+ * published since its last pass, up to pext.events.batch-size at a time, so
+ * a burst of writes reaches a projection as a few batches. A slot is reused
+ * only once every subscriber has passed it; until then direct publishers
+ * wait, which slows them down to the pace of the slowest projection instead
+ * of dropping events. Events published after commit never wait, since the
+ * committing thread still holds its pooled connection: when the ring is full
+ * they are queued in order behind it and moved in as slots free up. That
+ * queue holds at most pext.events.max-overflow events; past it events are
+ * handed to every subscriber as failed, so that a stuck projection costs a
+ * later repair rather than unbounded memory.
+ *
+ * Requests only pay for copying the event into the ring, however many
+ * projections subscribe. Projections see an event shortly after the write
+ * committed, never before, and must tolerate seeing it late. A batch whose
+ * delivery throws is retried with backoff, up to pext.events.max-attempts
+ * times, before it is handed back to the subscriber as failed.
+ */
+@Service
+public class DomainEventPipeline {
+    
+    private static final Logger log = LoggerFactory.getLogger(DomainEventPipeline.class);
+    
+    /**
+     * Receives events in publication order. A batch that throws is delivered
+     * again; the consumer's position only moves on once it succeeded or was
+     * given up on.
+     */
+    public interface EventConsumer {
+        void onEvents(List<Object> events);
+        
+        /**
+         * Receives a batch that still failed on its last attempt, so that the
+         * consumer can repair its view later. The list is reused afterwards.
+         */
+        default void onFailed(List<Object> events, RuntimeException e) {
+        }
+    }
+    
+    private static final long RETRY_BACKOFF_MILLIS = 100;
+    private static final long MAX_RETRY_BACKOFF_MILLIS = 5000;
+    
+    private final Object[] slots;
+    private final int mask;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final int maxOverflow;
+    private final Counter dropped;
+    
+    // Guards the cursor, every subscriber's position and the slots; a lock rather
+    // than synchronized so that waiting publishers do not pin virtual threads
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition published = lock.newCondition();
+    private final Condition consumed = lock.newCondition();
+    
+    // Sequence of the last published event; the event with sequence s is in slot s & mask
+    private long cursor = -1;
+    private boolean running = true;
+    // Events committed while the ring was full, oldest first; they go into the ring before anything newer
+    private final ArrayDeque<Object> overflow = new ArrayDeque<>();
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    
+    public DomainEventPipeline(@Value("${pext.events.ring-size:8192}") int ringSize,
+                               @Value("${pext.events.batch-size:512}") int batchSize,
+                               @Value("${pext.events.max-attempts:5}") int maxAttempts,
+                               @Value("${pext.events.max-overflow:65536}") int maxOverflow,
+                               MeterRegistry meterRegistry) {
+        if (ringSize <= 0 || Integer.bitCount(ringSize) != 1) {
+            throw new IllegalArgumentException("pext.events.ring-size must be a power of two: " + ringSize);
+        }
+        this.slots = new Object[ringSize];
+        this.mask = ringSize - 1;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.maxOverflow = Math.max(0, maxOverflow);
+        Gauge.builder("pext.events.backlog", this, DomainEventPipeline::backlog)
+            .description("Published domain events not yet taken by the slowest subscriber")
+            .register(meterRegistry);
+        this.dropped = Counter.builder("pext.events.dropped")
+            .description("Domain events not queued because the ring and its overflow were full; subscribers got them as failed")
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Starts delivering every event published from now on to the consumer,
+     * on a thread of its own named after the subscriber.
+     */
+    public void subscribe(String name, EventConsumer consumer) {
+        lock.lock();
+        try {
+            Subscriber subscriber = new Subscriber(name, consumer, cursor);
+            subscribers.add(subscriber);
+            subscriber.thread.start();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Publishes an event once the current transaction commits, or right away
+     * outside a transaction. Events of rolled back transactions are dropped.
+     * After commit the event is handed over without waiting for ring space.
+     */
+    public void publishAfterCommit(Object event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    offer(event);
+                }
+            });
+        } else {
+            publish(List.of(event));
+        }
+    }
+    
+    /**
+     * Appends events to the ring, waiting for free slots while the slowest
+     * subscriber is a full ring behind. Events published during shutdown
+     * are dropped.
+     */
+    public void publish(List<?> events) {
+        lock.lock();
+        try {
+            for (Object event : events) {
+                while (running && (!overflow.isEmpty() || isFull())) {
+                    consumed.awaitUninterruptibly();
+                }
+                if (!running) {
+                    log.warn("Dropped domain event published during shutdown: {}", event);
+                    continue;
+                }
+                append(event);
+            }
+            published.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Appends an event to the ring, or queues it behind the ring when the
+     * ring is full. Never waits: when the queue is full as well, the event
+     * is handed to the subscribers as failed instead.
+     */
+    private void offer(Object event) {
+        boolean rejected = false;
+        lock.lock();
+        try {
+            if (!running) {
+                log.warn("Dropped domain event published during shutdown: {}", event);
+            } else if (overflow.isEmpty() && !isFull()) {
+                append(event);
+                published.signalAll();
+            } else if (overflow.size() < maxOverflow) {
+                overflow.add(event);
+            } else {
+                rejected = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+        
+        if (rejected) {
+            dropped.increment();
+            RuntimeException overflowFull = new IllegalStateException(
+                "Event queue is full (" + slots.length + " + " + maxOverflow + " events)");
+            List<Object> events = List.of(event);
+            for (Subscriber subscriber : subscribers) {
+                subscriber.failed(events, overflowFull);
+            }
+        }
+    }
+    
+    /**
+     * Delivers what is already published, then stops the subscriber threads.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        lock.lock();
+        try {
+            running = false;
+            published.signalAll();
+            consumed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+    
+    private long backlog() {
+        lock.lock();
+        try {
+            return cursor - slowestPosition() + overflow.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    // Caller holds the lock
+    private void append(Object event) {
+        cursor++;
+        slots[(int) (cursor & mask)] = event;
+    }
+    
+    // Caller holds the lock
+    private boolean isFull() {
+        return cursor - slowestPosition() >= slots.length;
+    }
+    
+    // Caller holds the lock; moves queued events into slots the subscribers have freed
+    private void drainOverflow() {
+        boolean moved = false;
+        while (!overflow.isEmpty() && !isFull()) {
+            append(overflow.poll());
+            moved = true;
+        }
+        if (moved) {
+            published.signalAll();
+        }
+    }
+    
+    // Caller holds the lock
+    private long slowestPosition() {
+        long slowest = cursor;
+        for (Subscriber subscriber : subscribers) {
+            slowest = Math.min(slowest, subscriber.position);
+        }
+        return slowest;
+    }
+    
+    private final class Subscriber implements Runnable {
+        
+        private final String name;
+        private final EventConsumer consumer;
+        private final Thread thread;
+        // Sequence of the last event handed to the consumer; guarded by the lock
+        private long position;
+        
+        Subscriber(String name, EventConsumer consumer, long position) {
+            this.name = name;
+            this.consumer = consumer;
+            this.position = position;
+            this.thread = new Thread(this, "events-" + name);
+            this.thread.setDaemon(true);
+        }
+        
+        @Override
+        public void run() {
+            List<Object> batch = new ArrayList<>(batchSize);
+            while (true) {
+                long last;
+                lock.lock();
+                try {
+                    // Queued events are still delivered during shutdown
+                    while (position == cursor && (running || !overflow.isEmpty())) {
+                        published.awaitUninterruptibly();
+                    }
+                    if (position == cursor) {
+                        return;
+                    }
+                    last = Math.min(cursor, position + batchSize);
+                    for (long sequence = position + 1; sequence <= last; sequence++) {
+                        batch.add(slots[(int) (sequence & mask)]);
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                
+                deliver(batch);
+                batch.clear();
+                
+                lock.lock();
+                try {
+                    position = last;
+                    drainOverflow();
+                    consumed.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+        
+        private void deliver(List<Object> batch) {
+            long backoff = RETRY_BACKOFF_MILLIS;
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    consumer.onEvents(batch);
+                    return;
+                } catch (RuntimeException e) {
+                    if (attempt >= maxAttempts || !pause(backoff)) {
+                        log.error("Event subscriber {} gave up on a batch of {} events after {} attempts",
+                            name, batch.size(), attempt, e);
+                        failed(batch, e);
+                        return;
+                    }
+                    log.warn("Event subscriber {} failed on a batch of {} events (attempt {} of {}), retrying",
+                        name, batch.size(), attempt, maxAttempts, e);
+                    backoff = Math.min(backoff * 2, MAX_RETRY_BACKOFF_MILLIS);
+                }
+            }
+        }
+        
+        private void failed(List<Object> batch, RuntimeException e) {
+            try {
+                consumer.onFailed(batch, e);
+            } catch (RuntimeException failure) {
+                log.error("Event subscriber {} could not record a failed batch", name, failure);
+            }
+        }
+        
+        // False when interrupted, which ends the retries
+        private boolean pause(long millis) {
+            try {
+                Thread.sleep(millis);
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+}
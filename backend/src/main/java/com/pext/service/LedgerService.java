@@ -0,0 +1,159 @@
+package com.pext.service;
+
+import com.pext.model.Account;
+import com.pext.model.AccountBalanceSnapshot;
+import com.pext.model.Money;
+import com.pext.repository.AccountBalanceSnapshotRepository;
+import com.pext.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Answers account balances from the transaction ledger.
+ *
+ * Transactions are never updated or deleted, so the transactions table is
+ * an append-only ledger. Alongside it, account_balance_snapshots holds
+ * checkpoints: an opening snapshot per account plus one every
+ * pext.ledger.checkpoint-every-rows transactions. A balance at any point in
+ * time is the nearest checkpoint at or before it plus the transactions
+ * since, so the rows scanned are bounded by the checkpoint spacing rather
+ * than by the age of the account.
+ */
+@Service
+public class LedgerService {
+    
+    private static final Logger log = LoggerFactory.getLogger(LedgerService.class);
+    
+    // as_of of the opening snapshot; it absorbs any balance not explained by transactions
+    static final LocalDateTime OPENING = LocalDateTime.of(1970, 1, 1, 0, 0);
+    
+    private static final String SIGNED_AMOUNT =
+        "CASE WHEN t.type = 'credit' THEN t.amount_minor ELSE -t.amount_minor END";
+    
+    private static final String INSERT_OPENING_SNAPSHOTS =
+        "INSERT INTO account_balance_snapshots (account_id, as_of, balance_minor) " +
+        "SELECT a.id, ?, a.balance_minor - COALESCE((SELECT SUM(" + SIGNED_AMOUNT + ") " +
+        "FROM transactions t WHERE t.account_id = a.id), 0) " +
+        "FROM accounts a WHERE NOT EXISTS (SELECT 1 FROM account_balance_snapshots s WHERE s.account_id = a.id)";
+    
+    // For every account, walks the transactions after its latest snapshot in date order and
+    // checkpoints the running balance at every Nth row. The running sum uses the default RANGE
+    // frame, so rows sharing the checkpoint's timestamp are all included, as as_of requires.
+    private static final String INSERT_CHECKPOINTS =
+        "INSERT INTO account_balance_snapshots (account_id, as_of, balance_minor) " +
+        "SELECT account_id, date, MAX(balance_minor) FROM (" +
+        "  SELECT t.account_id, t.date, " +
+        "    l.balance_minor + SUM(" + SIGNED_AMOUNT + ") OVER (PARTITION BY t.account_id ORDER BY t.date) AS balance_minor, " +
+        "    ROW_NUMBER() OVER (PARTITION BY t.account_id ORDER BY t.date, t.id) AS row_number " +
+        "  FROM account_balance_snapshots l " +
+        "  JOIN transactions t ON t.account_id = l.account_id AND t.date > l.as_of AND t.date <= ? " +
+        "  WHERE l.as_of = (SELECT MAX(s.as_of) FROM account_balance_snapshots s WHERE s.account_id = l.account_id)" +
+        ") running WHERE MOD(row_number, ?) = 0 GROUP BY account_id, date";
+    
+    // The opening snapshot doubles as a per-account lock between back-dated writes and checkpointing
+    private static final String LOCK_OPENING =
+        "SELECT id FROM account_balance_snapshots WHERE account_id = ? AND as_of = ? FOR UPDATE";
+    
+    private static final String LOCK_ALL_OPENINGS =
+        "SELECT id FROM account_balance_snapshots WHERE as_of = ? FOR UPDATE";
+    
+    private static final String ADJUST_LATER_SNAPSHOTS =
+        "UPDATE account_balance_snapshots SET balance_minor = balance_minor + ? WHERE account_id = ? AND as_of >= ?";
+    
+    @Value("${pext.ledger.checkpoint-every-rows:200}")
+    private int checkpointEveryRows;
+    
+    // Transactions newer than this are left for the next run, so rows still being written are not checkpointed
+    @Value("${pext.ledger.checkpoint-lag-seconds:60}")
+    private long checkpointLagSeconds;
+    
+    @Autowired
+    private AccountBalanceSnapshotRepository snapshotRepository;
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    /**
+     * Balance of the account including every transaction dated at or before
+     * asOf, or null for an unknown account.
+     */
+    @Transactional(readOnly = true)
+    public Money balanceAsOf(Long accountId, LocalDateTime asOf) {
+        AccountBalanceSnapshot snapshot = snapshotRepository
+            .findFirstByAccountIdAndAsOfLessThanEqualOrderByAsOfDesc(accountId, asOf)
+            .orElse(null);
+        if (snapshot == null) {
+            return null;
+        }
+        long delta = transactionRepository.sumNetAmountByAccountIdBetween(accountId, snapshot.getAsOf(), asOf);
+        return snapshot.getBalance().plus(Money.ofMinor(delta));
+    }
+    
+    /**
+     * Records the opening balance of a newly created account.
+     */
+    @Transactional
+    public void open(Account account) {
+        snapshotRepository.save(new AccountBalanceSnapshot(account.getId(), OPENING,
+            account.getBalance() != null ? account.getBalance() : Money.ZERO));
+    }
+    
+    /**
+     * Adds opening snapshots for accounts that were written without going
+     * through {@link #open(Account)}, e.g. by the seeders.
+     */
+    @Transactional
+    public int openMissing() {
+        return jdbcTemplate.update(INSERT_OPENING_SNAPSHOTS, Timestamp.valueOf(OPENING));
+    }
+    
+    /**
+     * Keeps existing checkpoints correct when transactions are recorded with
+     * a date at or before them. Takes account ID -> (date -> net amount in
+     * minor units) for the back-dated rows only.
+     */
+    @Transactional
+    public void onBackdatedTransactions(Map<Long, Map<LocalDateTime, Long>> netByAccountAndDate) {
+        List<Object[]> adjustments = new ArrayList<>();
+        for (Map.Entry<Long, Map<LocalDateTime, Long>> account : netByAccountAndDate.entrySet()) {
+            // Waits for a running checkpoint, so the adjustment below also covers the snapshots it adds
+            jdbcTemplate.queryForList(LOCK_OPENING, Long.class, account.getKey(), Timestamp.valueOf(OPENING));
+            for (Map.Entry<LocalDateTime, Long> net : account.getValue().entrySet()) {
+                if (net.getValue() != 0) {
+                    adjustments.add(new Object[] {net.getValue(), account.getKey(), Timestamp.valueOf(net.getKey())});
+                }
+            }
+        }
+        if (!adjustments.isEmpty()) {
+            jdbcTemplate.batchUpdate(ADJUST_LATER_SNAPSHOTS, adjustments);
+        }
+    }
+    
+    @Scheduled(initialDelayString = "${pext.ledger.checkpoint-interval-ms:600000}",
+               fixedDelayString = "${pext.ledger.checkpoint-interval-ms:600000}")
+    @Transactional
+    public void checkpoint() {
+        // Back-dated writers lock their account's opening row, so once these locks are held
+        // every committed transaction is visible and no adjustment can miss the new checkpoints
+        jdbcTemplate.queryForList(LOCK_ALL_OPENINGS, Long.class, Timestamp.valueOf(OPENING));
+        LocalDateTime cutoff = LocalDateTime.now().minusSeconds(checkpointLagSeconds);
+        int created = jdbcTemplate.update(INSERT_CHECKPOINTS, Timestamp.valueOf(cutoff), checkpointEveryRows);
+        if (created > 0) {
+            log.info("Added {} account balance checkpoints", created);
+        }
+    }
+}
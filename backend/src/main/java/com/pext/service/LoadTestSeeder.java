@@ -0,0 +1,195 @@
+package com.pext.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Generates production-sized synthetic data for benchmarking.
+ *
+ * Enabled with pext.seed.mode=load. Users are split into partitions that are
+ * generated in parallel; every partition writes through JDBC batch inserts
+ * with IDs taken from ranges reserved up front, so no insert has to wait for
+ * a generated key. Each user's data comes from its own random stream derived
+ * from the fixed seed, which makes a run reproducible regardless of thread
+ * scheduling.
+ */
+@Service
+public class LoadTestSeeder {
+    
+    private static final Logger log = LoggerFactory.getLogger(LoadTestSeeder.class);
+    
+    private static final String[] ACCOUNT_TYPES = {"savings", "checking", "current"};
+    private static final String[] CATEGORIES = {"Food", "Shopping", "Travel", "Bills", "Transfer", "Entertainment", "Others"};
+    private static final String[] DESCRIPTIONS = {
+        "Grocery shopping", "Restaurant bill", "Online purchase", "Gas station", "Salary deposit",
+        "Rent payment", "Utility bill", "Entertainment", "Medical expense", "Investment",
+        "Insurance premium", "Internet bill", "Phone bill", "Travel expense", "Education fee"
+    };
+    
+    private static final String INSERT_USER =
+        "INSERT INTO users (id, username, password, full_name, email, mobile, currency, " +
+        "fingerprint_enabled, is_profile_complete, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private static final String INSERT_ACCOUNT =
+        "INSERT INTO accounts (id, user_id, bank_id, account_number, type, balance_minor, is_linked, created_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private static final String INSERT_TRANSACTION =
+        "INSERT INTO transactions (id, account_id, amount_minor, type, category, description, date) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    
+    @Value("${pext.seed.users:1000}")
+    private int users;
+    
+    @Value("${pext.seed.accounts-per-user:3}")
+    private int accountsPerUser;
+    
+    @Value("${pext.seed.transactions-per-account:300}")
+    private int transactionsPerAccount;
+    
+    @Value("${pext.seed.random-seed:42}")
+    private long randomSeed;
+    
+    @Value("${pext.seed.threads:4}")
+    private int threads;
+    
+    @Value("${pext.seed.batch-size:1000}")
+    private int batchSize;
+    
+    @Value("${pext.seed.history-days:730}")
+    private int historyDays;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private BankCatalog bankCatalog;
+    
+    public void seed() {
+        long started = System.nanoTime();
+        
+        // Reserve contiguous ID ranges so partitions can assign keys without coordination
+        long userBase = nextId("users");
+        long accountBase = nextId("accounts");
+        long transactionBase = nextId("transactions");
+        int bankCount = Math.max(1, bankCatalog.getAll().size());
+        LocalDateTime now = LocalDateTime.now();
+        
+        int partitionCount = Math.max(1, threads) * 4;
+        int usersPerPartition = (users + partitionCount - 1) / partitionCount;
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads));
+        try {
+            List<Future<?>> partitions = new ArrayList<>();
+            for (int from = 0; from < users; from += usersPerPartition) {
+                int fromUser = from;
+                int toUser = Math.min(users, from + usersPerPartition);
+                partitions.add(executor.submit(() -> transactionTemplate.executeWithoutResult(status ->
+                    seedPartition(fromUser, toUser, userBase, accountBase, transactionBase, bankCount, now))));
+            }
+            for (Future<?> partition : partitions) {
+                partition.get();
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("Load test seeding failed", e);
+        } finally {
+            executor.shutdown();
+        }
+        
+        long accounts = (long) users * accountsPerUser;
+        long transactions = accounts * transactionsPerAccount;
+        restartIdentity("users", userBase + users);
+        restartIdentity("accounts", accountBase + accounts);
+        restartIdentity("transactions", transactionBase + transactions);
+        
+        long elapsedMillis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        log.info("Seeded {} users, {} accounts and {} transactions in {} ms ({} transactions/s)",
+            users, accounts, transactions, elapsedMillis, transactions * 1000 / elapsedMillis);
+    }
+    
+    private void seedPartition(int fromUser, int toUser, long userBase, long accountBase, long transactionBase,
+                               int bankCount, LocalDateTime now) {
+        List<Object[]> userRows = new ArrayList<>(batchSize);
+        List<Object[]> accountRows = new ArrayList<>(batchSize);
+        List<Object[]> transactionRows = new ArrayList<>(batchSize);
+        Timestamp createdAt = Timestamp.valueOf(now);
+        long historySeconds = historyDays * 86_400L;
+        
+        for (int u = fromUser; u < toUser; u++) {
+            SplittableRandom random = new SplittableRandom(randomSeed * 31 + u);
+            long userId = userBase + u;
+            String name = "load user " + userId;
+            userRows.add(new Object[] {
+                userId, "load_user_" + userId, "password123", name, "load" + userId + "@example.com",
+                String.format("7%09d", userId), "USD", false, false, createdAt
+            });
+            flushIfFull(userRows, INSERT_USER);
+            
+            for (int a = 0; a < accountsPerUser; a++) {
+                long accountIndex = (long) u * accountsPerUser + a;
+                long accountId = accountBase + accountIndex;
+                long balanceMinor = random.nextLong(100_000, 5_000_000);
+                accountRows.add(new Object[] {
+                    accountId, userId, 1L + random.nextInt(bankCount),
+                    "ACC" + String.format("%06d", userId) + String.format("%02d", a + 1),
+                    ACCOUNT_TYPES[random.nextInt(ACCOUNT_TYPES.length)], balanceMinor, true, createdAt
+                });
+                flushIfFull(accountRows, INSERT_ACCOUNT);
+                
+                long transactionId = transactionBase + accountIndex * transactionsPerAccount;
+                for (int t = 0; t < transactionsPerAccount; t++) {
+                    boolean credit = random.nextBoolean();
+                    long amountMinor = credit ? random.nextLong(10_000, 500_000) : random.nextLong(500, 200_000);
+                    transactionRows.add(new Object[] {
+                        transactionId + t, accountId, amountMinor, credit ? "credit" : "debit",
+                        CATEGORIES[random.nextInt(CATEGORIES.length)],
+                        DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)],
+                        Timestamp.valueOf(now.minusSeconds(random.nextLong(historySeconds)))
+                    });
+                    flushIfFull(transactionRows, INSERT_TRANSACTION);
+                }
+            }
+        }
+        
+        flush(userRows, INSERT_USER);
+        flush(accountRows, INSERT_ACCOUNT);
+        flush(transactionRows, INSERT_TRANSACTION);
+    }
+    
+    private void flushIfFull(List<Object[]> rows, String sql) {
+        if (rows.size() >= batchSize) {
+            flush(rows, sql);
+        }
+    }
+    
+    private void flush(List<Object[]> rows, String sql) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows);
+            rows.clear();
+        }
+    }
+    
+    private long nextId(String table) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        return (maxId != null ? maxId : 0) + 1;
+    }
+    
+    private void restartIdentity(String table, long nextId) {
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + nextId);
+    }
+}
@@ -0,0 +1,216 @@
+package com.pext.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pext.dto.LoanSchedule;
+import com.pext.model.Loan;
+import com.pext.model.Money;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * Amortization schedules and payoff projections for loans.
+ *
+ * A schedule starts from the loan's remaining amount and EMI and runs
+ * month by month until the balance is zero, with interest on the balance
+ * at a twelfth of the annual rate, rounded to the cent. What-if scenarios
+ * add a recurring extra payment and/or one-off prepayments in given months.
+ * The arithmetic works on long minor units in primitive arrays.
+ *
+ * Finished schedules are cached. The cache key holds every input, loan
+ * amounts and rate included, so a loan that changes is recomputed rather
+ * than served from a stale entry; entries unused for
+ * pext.loans.schedule-cache-expiry age out.
+ */
+@Service
+public class LoanScheduleService {
+    
+    // 100 years; an EMI that barely covers the interest would otherwise run for centuries
+    public static final int MAX_PAYMENTS = 1200;
+    
+    // Annual rates in percent outside [0, MAX_ANNUAL_RATE] are refused, whether passed in or stored on the loan
+    public static final double MAX_ANNUAL_RATE = 100;
+    
+    @Value("${pext.loans.schedule-cache-size:10000}")
+    private long cacheSize;
+    
+    @Value("${pext.loans.schedule-cache-expiry:1h}")
+    private Duration cacheExpiry;
+    
+    private Cache<String, LoanSchedule> schedules;
+    
+    @PostConstruct
+    public void init() {
+        schedules = Caffeine.newBuilder()
+            .maximumSize(cacheSize)
+            .expireAfterAccess(cacheExpiry)
+            .build();
+    }
+    
+    /**
+     * Schedule for the loan, with the first payment on firstPayment.
+     *
+     * @param annualRate   rate in percent overriding the loan's own, or null
+     * @param extraMonthly paid on top of every EMI, or null
+     * @param prepayments  one-off payments by payment number (1 = first payment)
+     * @throws IllegalArgumentException if the loan has no rate, amount or EMI,
+     *         the rate is not between 0 and MAX_ANNUAL_RATE percent, or the
+     *         loan is not repaid within MAX_PAYMENTS payments
+     */
+    public LoanSchedule schedule(Loan loan, Double annualRate, Money extraMonthly,
+                                 SortedMap<Integer, Money> prepayments, LocalDate firstPayment) {
+        Double chosenRate = annualRate != null ? annualRate : loan.getAnnualRate();
+        if (chosenRate == null) {
+            throw new IllegalArgumentException("Loan has no interest rate; pass annualRate");
+        }
+        double rate = chosenRate;
+        if (!Double.isFinite(rate) || rate < 0 || rate > MAX_ANNUAL_RATE) {
+            throw new IllegalArgumentException("Interest rate must be between 0 and " + (int) MAX_ANNUAL_RATE + " percent");
+        }
+        if (loan.getRemainingAmount() == null || loan.getEmiAmount() == null) {
+            throw new IllegalArgumentException("Loan has no remaining amount or EMI");
+        }
+        long balance = Money.of(loan.getRemainingAmount()).getMinorUnits();
+        long emi = Money.of(loan.getEmiAmount()).getMinorUnits();
+        long extra = extraMonthly != null ? extraMonthly.getMinorUnits() : 0;
+        
+        String key = loan.getId() + "|" + balance + "|" + emi + "|" + rate + "|" + firstPayment + "|" + extra + "|" + prepayments;
+        LoanSchedule cached = schedules.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        
+        long[] lumpSums = null;
+        if (!prepayments.isEmpty()) {
+            lumpSums = new long[MAX_PAYMENTS + 1];
+            for (Map.Entry<Integer, Money> prepayment : prepayments.entrySet()) {
+                int number = prepayment.getKey();
+                lumpSums[number] = addPayments(lumpSums[number], prepayment.getValue().getMinorUnits());
+            }
+        }
+        double monthlyRate = rate / 1200;
+        Amortization schedule = amortize(balance, emi, monthlyRate, extra, lumpSums);
+        Amortization baseline = extra > 0 || lumpSums != null ? baseline(balance, emi, monthlyRate) : null;
+        
+        LoanSchedule result = toSchedule(loan.getId(), rate, firstPayment, schedule, baseline);
+        schedules.put(key, result);
+        return result;
+    }
+    
+    /**
+     * Runs the schedule. Payment i (1-based) is at index i - 1 of each array.
+     */
+    static Amortization amortize(long balance, long emi, double monthlyRate, long extraMonthly, long[] lumpSums) {
+        Amortization schedule = new Amortization(balance > 0 && emi > 0 ? (int) Math.min(MAX_PAYMENTS, balance / emi + 1) : 1);
+        int n = 0;
+        while (balance > 0) {
+            if (n == MAX_PAYMENTS) {
+                throw new IllegalArgumentException("Loan is not repaid within " + MAX_PAYMENTS + " payments");
+            }
+            long interest = Math.round(balance * monthlyRate);
+            long payment = Math.min(emi, balance + interest);
+            long principal = payment - interest;
+            long extra = Math.min(Math.max(0, balance - principal),
+                addPayments(extraMonthly, lumpSums != null ? lumpSums[n + 1] : 0));
+            if (principal + extra <= 0) {
+                throw new IllegalArgumentException("EMI does not cover the monthly interest");
+            }
+            balance -= principal + extra;
+            schedule.record(n++, payment, principal, interest, extra, balance);
+        }
+        schedule.count = n;
+        return schedule;
+    }
+    
+    /**
+     * The schedule without extra payments, to compare a scenario against, or
+     * null when the EMI alone never repays the loan; the scenario itself may
+     * still be valid.
+     */
+    private static Amortization baseline(long balance, long emi, double monthlyRate) {
+        try {
+            return amortize(balance, emi, monthlyRate, 0, null);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
+    private static long addPayments(long a, long b) {
+        try {
+            return Math.addExact(a, b);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Extra payments are too large");
+        }
+    }
+    
+    private static LoanSchedule toSchedule(Long loanId, double rate, LocalDate firstPayment,
+                                           Amortization schedule, Amortization baseline) {
+        List<LoanSchedule.Row> rows = new ArrayList<>(schedule.count);
+        long totalPaid = 0;
+        long totalInterest = 0;
+        for (int i = 0; i < schedule.count; i++) {
+            rows.add(new LoanSchedule.Row(i + 1, firstPayment.plusMonths(i),
+                Money.ofMinor(schedule.payment[i]), Money.ofMinor(schedule.principal[i]),
+                Money.ofMinor(schedule.interest[i]), Money.ofMinor(schedule.extra[i]),
+                Money.ofMinor(schedule.balance[i])));
+            totalPaid += schedule.payment[i] + schedule.extra[i];
+            totalInterest += schedule.interest[i];
+        }
+        LocalDate payoff = schedule.count > 0 ? firstPayment.plusMonths(schedule.count - 1) : null;
+        
+        Money interestSaved = null;
+        Integer paymentsSaved = null;
+        if (baseline != null) {
+            long baselineInterest = 0;
+            for (int i = 0; i < baseline.count; i++) {
+                baselineInterest += baseline.interest[i];
+            }
+            interestSaved = Money.ofMinor(baselineInterest - totalInterest);
+            paymentsSaved = baseline.count - schedule.count;
+        }
+        return new LoanSchedule(loanId, rate, firstPayment, payoff, schedule.count,
+            Money.ofMinor(totalPaid), Money.ofMinor(totalInterest), interestSaved, paymentsSaved, rows);
+    }
+    
+    // Column-wise schedule in minor units; grows as payments are recorded
+    static final class Amortization {
+        long[] payment;
+        long[] principal;
+        long[] interest;
+        long[] extra;
+        long[] balance;
+        int count;
+        
+        Amortization(int capacity) {
+            payment = new long[capacity];
+            principal = new long[capacity];
+            interest = new long[capacity];
+            extra = new long[capacity];
+            balance = new long[capacity];
+        }
+        
+        void record(int i, long payment, long principal, long interest, long extra, long balance) {
+            if (i == this.payment.length) {
+                int capacity = Math.min(MAX_PAYMENTS, i * 2);
+                this.payment = Arrays.copyOf(this.payment, capacity);
+                this.principal = Arrays.copyOf(this.principal, capacity);
+                this.interest = Arrays.copyOf(this.interest, capacity);
+                this.extra = Arrays.copyOf(this.extra, capacity);
+                this.balance = Arrays.copyOf(this.balance, capacity);
+            }
+            this.payment[i] = payment;
+            this.principal[i] = principal;
+            this.interest[i] = interest;
+            this.extra[i] = extra;
+            this.balance[i] = balance;
+        }
+    }
+}
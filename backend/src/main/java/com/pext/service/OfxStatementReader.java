@@ -0,0 +1,203 @@
+package com.pext.service;
+
+import com.pext.dto.TransactionRequest;
+import com.pext.model.Money;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Statement in OFX form, either OFX 1.x (SGML, leaf elements without end
+ * tags) or OFX 2.x (XML). The file is scanned tag by tag; each STMTTRN
+ * aggregate becomes one transaction with the fields DTPOSTED, TRNAMT, NAME
+ * and MEMO. The sign of TRNAMT decides between debit and credit, as the
+ * OFX specification requires; OFX carries no category.
+ */
+class OfxStatementReader implements StatementReader {
+    
+    private static final int MAX_DESCRIPTION_LENGTH = 255;
+    
+    // Longest tag name or element text kept; anything longer is cut off
+    private static final int MAX_TOKEN_LENGTH = 4096;
+    
+    private static final DateTimeFormatter OFX_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+    private static final DateTimeFormatter OFX_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    
+    private final Reader in;
+    private int pushback = -1;
+    private int transactions;
+    // A STMTTRN start tag already consumed while reading the previous transaction
+    private boolean startPending;
+    
+    OfxStatementReader(Reader in) throws IOException {
+        this.in = in;
+        // Skip the SGML header or XML prolog up to the root element
+        String tag;
+        do {
+            tag = readTag();
+            if (tag == null) {
+                throw new IllegalArgumentException("Not an OFX statement");
+            }
+        } while (!"OFX".equalsIgnoreCase(tag));
+    }
+    
+    @Override
+    public TransactionRequest next() throws IOException {
+        String tag;
+        if (!startPending) {
+            do {
+                tag = readTag();
+                if (tag == null) {
+                    return null;
+                }
+            } while (!"STMTTRN".equalsIgnoreCase(tag));
+        }
+        startPending = false;
+        transactions++;
+        
+        Map<String, String> fields = new HashMap<>();
+        while (true) {
+            tag = readTag();
+            if (tag == null || "/STMTTRN".equalsIgnoreCase(tag) || "/BANKTRANLIST".equalsIgnoreCase(tag)) {
+                break;
+            }
+            // Tolerate a missing end tag: the next transaction starts here
+            if ("STMTTRN".equalsIgnoreCase(tag)) {
+                startPending = true;
+                break;
+            }
+            if (!tag.startsWith("/")) {
+                fields.put(tag.toUpperCase(Locale.ROOT), readText());
+            }
+        }
+        return toRequest(fields);
+    }
+    
+    @Override
+    public int position() {
+        return transactions;
+    }
+    
+    private TransactionRequest toRequest(Map<String, String> fields) {
+        String amountText = fields.get("TRNAMT");
+        if (amountText == null || amountText.isEmpty()) {
+            throw new IllegalArgumentException("Transaction has no TRNAMT");
+        }
+        String dateText = fields.get("DTPOSTED");
+        if (dateText == null || dateText.isEmpty()) {
+            throw new IllegalArgumentException("Transaction has no DTPOSTED");
+        }
+        
+        // Some banks write decimal commas
+        Money amount = Money.parse(amountText.replace(',', '.'));
+        TransactionRequest row = new TransactionRequest();
+        row.setAmount(amount.abs());
+        row.setType(amount.isNegative() ? "debit" : "credit");
+        row.setDate(parseDate(dateText));
+        row.setDescription(description(fields.get("NAME"), fields.get("MEMO")));
+        return row;
+    }
+    
+    private static String description(String name, String memo) {
+        String description;
+        if (name == null || name.isEmpty()) {
+            description = memo;
+        } else if (memo == null || memo.isEmpty() || memo.equals(name)) {
+            description = name;
+        } else {
+            description = name + " - " + memo;
+        }
+        if (description == null || description.isEmpty()) {
+            return null;
+        }
+        return description.length() > MAX_DESCRIPTION_LENGTH ? description.substring(0, MAX_DESCRIPTION_LENGTH) : description;
+    }
+    
+    // yyyyMMdd[HHmmss[.XXX]][[gmt offset:tz name]]; the time zone is dropped like elsewhere in the app
+    private static LocalDateTime parseDate(String text) {
+        int digits = 0;
+        while (digits < text.length() && Character.isDigit(text.charAt(digits))) {
+            digits++;
+        }
+        try {
+            if (digits >= 14) {
+                return LocalDateTime.parse(text.substring(0, 14), OFX_DATE_TIME);
+            }
+            if (digits >= 8) {
+                return LocalDate.parse(text.substring(0, 8), OFX_DATE).atStartOfDay();
+            }
+        } catch (DateTimeParseException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Invalid DTPOSTED: " + text);
+    }
+    
+    /**
+     * Name of the next tag ("/NAME" for end tags), skipping processing
+     * instructions and comments, or null at the end of the input.
+     */
+    private String readTag() throws IOException {
+        while (true) {
+            int c;
+            do {
+                c = read();
+            } while (c >= 0 && c != '<');
+            if (c < 0) {
+                return null;
+            }
+            
+            StringBuilder tag = new StringBuilder();
+            while ((c = read()) >= 0 && c != '>') {
+                if (tag.length() < MAX_TOKEN_LENGTH) {
+                    tag.append((char) c);
+                }
+            }
+            String name = tag.toString().trim();
+            if (name.startsWith("?") || name.startsWith("!")) {
+                continue;
+            }
+            int space = name.indexOf(' ');
+            return space < 0 ? name : name.substring(0, space);
+        }
+    }
+    
+    /**
+     * Text up to the next tag, which is left unread.
+     */
+    private String readText() throws IOException {
+        StringBuilder text = new StringBuilder();
+        int c;
+        while ((c = read()) >= 0 && c != '<') {
+            if (text.length() < MAX_TOKEN_LENGTH) {
+                text.append((char) c);
+            }
+        }
+        if (c == '<') {
+            pushback = c;
+        }
+        return unescape(text.toString().trim());
+    }
+    
+    private static String unescape(String text) {
+        if (text.indexOf('&') < 0) {
+            return text;
+        }
+        return text.replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"")
+            .replace("&apos;", "'").replace("&nbsp;", " ").replace("&amp;", "&");
+    }
+    
+    private int read() throws IOException {
+        if (pushback >= 0) {
+            int c = pushback;
+            pushback = -1;
+            return c;
+        }
+        return in.read();
+    }
+}
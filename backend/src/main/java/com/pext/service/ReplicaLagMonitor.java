@@ -0,0 +1,78 @@
+package com.pext.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Measures how far the read replica is behind the primary.
+ *
+ * Every pext.replica.heartbeat-interval-ms the primary's replica_heartbeat row
+ * is set to the current time and the replica's copy of it is read back. The
+ * copy is the point in time up to which the replica has every committed
+ * change; the replica is used only while that point is no more than
+ * pext.replica.max-staleness ago. Unreachable replicas count as stale.
+ */
+@Service
+@Profile("replica")
+public class ReplicaLagMonitor {
+    
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+    
+    @Value("${pext.replica.max-staleness:5s}")
+    private Duration maxStaleness;
+    
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    
+    // Epoch millis up to which the replica is current; 0 until first seen
+    private volatile long asOf;
+    private volatile boolean reachable;
+    
+    @Autowired
+    public ReplicaLagMonitor(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                             @Qualifier("replicaDataSource") DataSource replicaDataSource) {
+        this.primary = new JdbcTemplate(primaryDataSource);
+        this.replica = new JdbcTemplate(replicaDataSource);
+    }
+    
+    @Scheduled(fixedDelayString = "${pext.replica.heartbeat-interval-ms:1000}")
+    public void heartbeat() {
+        primary.update("UPDATE replica_heartbeat SET beat_millis = ? WHERE id = 1", System.currentTimeMillis());
+        try {
+            Long beat = replica.queryForObject("SELECT beat_millis FROM replica_heartbeat WHERE id = 1", Long.class);
+            if (!reachable) {
+                log.info("Read replica reachable");
+            }
+            asOf = beat != null ? beat : 0;
+            reachable = true;
+        } catch (RuntimeException e) {
+            if (reachable) {
+                log.warn("Read replica unreachable, reading from the primary: {}", e.getMessage());
+            }
+            reachable = false;
+        }
+    }
+    
+    /**
+     * Whether the replica may serve reads right now.
+     */
+    public boolean isCurrent() {
+        return reachable && System.currentTimeMillis() - asOf <= maxStaleness.toMillis();
+    }
+    
+    /**
+     * Epoch millis up to which the replica has every committed change.
+     */
+    public long currentAsOf() {
+        return asOf;
+    }
+}
@@ -0,0 +1,77 @@
+package com.pext.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.function.Supplier;
+
+/**
+ * Runs read-only queries of GET endpoints on the read replica when one is
+ * configured (replica profile) and current enough.
+ *
+ * A query is sent to the replica only when the replica lags the primary by
+ * no more than pext.replica.max-staleness and, for a versioned collection,
+ * the collection has not changed since the point the replica is current up
+ * to. The second rule keeps ETags honest: a tag taken from
+ * {@link CollectionVersions} is never paired with data older than the tag.
+ * Everything else, including reads outside this class, stays on the primary.
+ * A read the replica fails is repeated on the primary.
+ */
+@Service
+public class ReplicaReads {
+    
+    private static final Logger log = LoggerFactory.getLogger(ReplicaReads.class);
+    
+    private static final ThreadLocal<Boolean> ON_REPLICA = new ThreadLocal<>();
+    
+    @Autowired
+    private CollectionVersions collectionVersions;
+    
+    @Autowired(required = false)
+    private ReplicaLagMonitor replicaLagMonitor;
+    
+    private final TransactionTemplate readOnlyTransaction;
+    
+    public ReplicaReads(PlatformTransactionManager transactionManager) {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+    
+    /**
+     * Whether the current thread is inside a read that may use the replica;
+     * consulted by the routing data source when it hands out a connection.
+     */
+    public static boolean isReplicaRead() {
+        return ON_REPLICA.get() != null;
+    }
+    
+    /**
+     * Reads a user's collection (userId null for global collections).
+     */
+    public <T> T read(String collection, Long userId, Supplier<T> query) {
+        boolean replica = replicaLagMonitor != null && replicaLagMonitor.isCurrent()
+            && !collectionVersions.changedSince(collection, userId, replicaLagMonitor.currentAsOf());
+        return run(replica, query);
+    }
+    
+    private <T> T run(boolean replica, Supplier<T> query) {
+        if (!replica || isReplicaRead()) {
+            return readOnlyTransaction.execute(status -> query.get());
+        }
+        // The routing data source picks its target when the transaction takes its connection
+        ON_REPLICA.set(Boolean.TRUE);
+        try {
+            return readOnlyTransaction.execute(status -> query.get());
+        } catch (DataAccessException | TransactionException e) {
+            log.debug("Replica read failed, reading from the primary: {}", e.getMessage());
+        } finally {
+            ON_REPLICA.remove();
+        }
+        return readOnlyTransaction.execute(status -> query.get());
+    }
+}
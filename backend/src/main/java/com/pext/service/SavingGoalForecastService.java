@@ -0,0 +1,230 @@
+package com.pext.service;
+
+import com.pext.model.SavingGoal;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Projects a completion date for every saving goal from its owner's recent
+ * net cash flow, so goal listings serve stored forecasts.
+ *
+ * Net cash flow is credits minus debits over the last
+ * pext.forecast.history-months months including the current one, read from
+ * the transaction rollups rather than the transactions, and averaged over the
+ * months that have any activity, so new users get a forecast from their first
+ * month on. A user's monthly average is shared evenly between their
+ * unfinished goals. Users are split into ID ranges
+ * that are processed in parallel, each range with one query and batched
+ * updates in its own transaction, so the job scales with the number of
+ * goals rather than transactions.
+ */
+@Service
+public class SavingGoalForecastService {
+    
+    private static final Logger log = LoggerFactory.getLogger(SavingGoalForecastService.class);
+    
+    private static final String SELECT_GOALS_WITH_NET_FLOW =
+        "SELECT g.id, g.user_id, g.target_amount, g.current_amount, COALESCE(f.net_minor, 0), COALESCE(f.months, 0) " +
+        "FROM saving_goals g LEFT JOIN (" +
+        "  SELECT user_id, SUM(CASE WHEN type = 'credit' THEN amount_minor ELSE -amount_minor END) AS net_minor, " +
+        "    COUNT(DISTINCT month_start) AS months " +
+        "  FROM transaction_rollups WHERE user_id BETWEEN ? AND ? AND month_start >= ? AND month_start <= ? " +
+        "  GROUP BY user_id) f ON f.user_id = g.user_id " +
+        "WHERE g.user_id BETWEEN ? AND ? ORDER BY g.user_id, g.id";
+    
+    private static final String UPDATE_FORECAST =
+        "UPDATE saving_goals SET forecast_date = ?, forecast_monthly_saving = ?, forecasted_at = ? WHERE id = ?";
+    
+    // Forecasts further out than this are reported as never
+    private static final int MAX_FORECAST_MONTHS = 1200;
+    
+    @Value("${pext.forecast.history-months:3}")
+    private int historyMonths;
+    
+    @Value("${pext.forecast.threads:4}")
+    private int threads;
+    
+    @Value("${pext.forecast.users-per-partition:10000}")
+    private int usersPerPartition;
+    
+    @Value("${pext.forecast.batch-size:1000}")
+    private int batchSize;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private CollectionVersions collectionVersions;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    private final AtomicBoolean running = new AtomicBoolean();
+    
+    /**
+     * Whether any goal has never been forecast, e.g. right after seeding.
+     */
+    public boolean hasUnforecastGoals() {
+        Integer pending = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM (SELECT 1 FROM saving_goals WHERE forecasted_at IS NULL LIMIT 1)", Integer.class);
+        return pending != null && pending > 0;
+    }
+    
+    /**
+     * Recomputes the forecast of every goal. Runs nightly; a run that is
+     * still going when the next one is due makes the next one a no-op.
+     */
+    @Scheduled(cron = "${pext.forecast.cron:0 30 2 * * *}")
+    public void forecastAll() {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Saving goal forecast skipped: the previous run is still going");
+            return;
+        }
+        try {
+            run();
+        } finally {
+            running.set(false);
+        }
+    }
+    
+    private void run() {
+        long started = System.nanoTime();
+        Long[] userRange = jdbcTemplate.queryForObject("SELECT MIN(user_id), MAX(user_id) FROM saving_goals",
+            (rs, rowNum) -> new Long[] {rs.getObject(1, Long.class), rs.getObject(2, Long.class)});
+        if (userRange == null || userRange[0] == null) {
+            return;
+        }
+        
+        LocalDate today = LocalDate.now();
+        LocalDate historyTo = today.withDayOfMonth(1);
+        LocalDate historyFrom = historyTo.minusMonths(historyMonths - 1);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads));
+        long goals = 0;
+        try {
+            List<Future<Integer>> partitions = new ArrayList<>();
+            for (long from = userRange[0]; from <= userRange[1]; from += usersPerPartition) {
+                long fromUser = from;
+                long toUser = Math.min(userRange[1], from + usersPerPartition - 1);
+                partitions.add(executor.submit(() -> {
+                    Integer updated = transactionTemplate.execute(status ->
+                        forecastPartition(fromUser, toUser, today, historyFrom, historyTo, now));
+                    // Committed: drop cached goals and move every user's ETag on
+                    evictCachedGoals();
+                    collectionVersions.changedForAllUsers(CollectionVersions.SAVING_GOALS);
+                    return updated;
+                }));
+            }
+            for (Future<Integer> partition : partitions) {
+                goals += partition.get();
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("Saving goal forecast failed", e);
+        } finally {
+            executor.shutdown();
+        }
+        
+        long elapsedMillis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        log.info("Forecast {} saving goals in {} ms ({} goals/s)", goals, elapsedMillis, goals * 1000 / elapsedMillis);
+    }
+    
+    private int forecastPartition(long fromUser, long toUser, LocalDate today,
+                                  LocalDate historyFrom, LocalDate historyTo, Timestamp now) {
+        List<Object[]> updates = new ArrayList<>(batchSize);
+        // Goals of the user being read; rows arrive ordered by user
+        List<double[]> userGoals = new ArrayList<>();
+        // {user ID, net cash flow in minor units, months with activity}
+        long[] user = {-1, 0, 0};
+        int[] updated = {0};
+        
+        jdbcTemplate.query(SELECT_GOALS_WITH_NET_FLOW, (ResultSet rs) -> {
+            long userId = rs.getLong(2);
+            if (userId != user[0]) {
+                updated[0] += forecastUser(userGoals, user[1], user[2], today, now, updates);
+                user[0] = userId;
+                user[1] = rs.getLong(5);
+                user[2] = rs.getLong(6);
+            }
+            userGoals.add(new double[] {rs.getLong(1), amount(rs, 3), amount(rs, 4)});
+            if (updates.size() >= batchSize) {
+                jdbcTemplate.batchUpdate(UPDATE_FORECAST, updates);
+                updates.clear();
+            }
+        }, fromUser, toUser, Date.valueOf(historyFrom), Date.valueOf(historyTo), fromUser, toUser);
+        updated[0] += forecastUser(userGoals, user[1], user[2], today, now, updates);
+        
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_FORECAST, updates);
+        }
+        return updated[0];
+    }
+    
+    /**
+     * Adds the updates for one user's goals ({id, target, current}), given
+     * their net cash flow over the months with activity, and clears the list.
+     */
+    private int forecastUser(List<double[]> goals, long netMinor, long months, LocalDate today,
+                             Timestamp now, List<Object[]> updates) {
+        int unfinished = 0;
+        for (double[] goal : goals) {
+            if (goal[2] < goal[1]) {
+                unfinished++;
+            }
+        }
+        double monthlySaving = unfinished == 0 || months == 0 ? 0 : netMinor / 100.0 / months / unfinished;
+        
+        for (double[] goal : goals) {
+            double remaining = goal[1] - goal[2];
+            LocalDate forecast = null;
+            if (remaining <= 0) {
+                forecast = today;
+            } else if (monthlySaving > 0) {
+                double monthsToGo = Math.ceil(remaining / monthlySaving);
+                if (monthsToGo <= MAX_FORECAST_MONTHS) {
+                    forecast = today.plusMonths((long) monthsToGo);
+                }
+            }
+            updates.add(new Object[] {
+                forecast != null ? Date.valueOf(forecast) : null, monthlySaving, now, (long) goal[0]
+            });
+        }
+        int count = goals.size();
+        goals.clear();
+        return count;
+    }
+    
+    private static double amount(ResultSet rs, int column) throws SQLException {
+        double value = rs.getDouble(column);
+        return rs.wasNull() ? 0 : value;
+    }
+    
+    // Forecasts are written with JDBC, behind the second-level and query cache
+    private void evictCachedGoals() {
+        entityManagerFactory.getCache().evict(SavingGoal.class);
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictDefaultQueryRegion();
+    }
+}
@@ -0,0 +1,108 @@
+package com.pext.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * In-memory store of issued session tokens.
+ *
+ * Lookups are a single ConcurrentHashMap get, so resolving the caller of a
+ * request never touches the users table. Sessions expire after a fixed TTL
+ * and the store is bounded: once it is full, expired sessions are dropped
+ * first and then the oldest ones.
+ */
+@Service
+public class SessionStore {
+    
+    private static final int TOKEN_BYTES = 32;
+    
+    private final SecureRandom random = new SecureRandom();
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    // Tokens in issue order, used to find the oldest sessions when the store is full
+    private final Queue<String> issueOrder = new ConcurrentLinkedQueue<>();
+    
+    @Value("${pext.session.ttl-minutes:60}")
+    private long ttlMinutes;
+    
+    @Value("${pext.session.max-sessions:100000}")
+    private int maxSessions;
+    
+    public String create(Long userId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        
+        evictIfFull();
+        sessions.put(token, new Session(userId, System.currentTimeMillis() + ttlMinutes * 60_000));
+        issueOrder.add(token);
+        return token;
+    }
+    
+    /**
+     * Returns the user ID behind a token, or null when the token is unknown
+     * or has expired.
+     */
+    public Long resolve(String token) {
+        if (token == null) {
+            return null;
+        }
+        Session session = sessions.get(token);
+        if (session == null) {
+            return null;
+        }
+        if (session.expiresAt < System.currentTimeMillis()) {
+            sessions.remove(token, session);
+            return null;
+        }
+        return session.userId;
+    }
+    
+    public void revoke(String token) {
+        if (token != null) {
+            sessions.remove(token);
+        }
+    }
+    
+    public int size() {
+        return sessions.size();
+    }
+    
+    private void evictIfFull() {
+        long now = System.currentTimeMillis();
+        // The queue also holds tokens that were revoked or already expired;
+        // those are discarded on the way without counting against the limit
+        while (sessions.size() >= maxSessions) {
+            String oldest = issueOrder.poll();
+            if (oldest == null) {
+                return;
+            }
+            sessions.remove(oldest);
+        }
+        // Trim dead entries at the head so the queue does not grow without bound
+        String head;
+        while ((head = issueOrder.peek()) != null) {
+            Session session = sessions.get(head);
+            if (session != null && session.expiresAt >= now) {
+                break;
+            }
+            sessions.remove(head);
+            issueOrder.poll();
+        }
+    }
+    
+    private static final class Session {
+        final Long userId;
+        final long expiresAt;
+        
+        Session(Long userId, long expiresAt) {
+            this.userId = userId;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
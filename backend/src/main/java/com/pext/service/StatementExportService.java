@@ -0,0 +1,186 @@
+package com.pext.service;
+
+import com.pext.model.Account;
+import com.pext.model.Money;
+import com.pext.repository.AccountRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Writes a user's full transaction history as CSV, newest first.
+ *
+ * Each account is read through its own JDBC cursor in the order of the
+ * (account_id, date DESC, id DESC) index, so the database never sorts, and
+ * the cursors are merged by date. Only one row per account and a fixed
+ * write buffer are held at a time, whatever the length of the history.
+ * The columns match what the statement import reads back.
+ */
+@Service
+public class StatementExportService {
+    
+    private static final String HEADER = "Date,Account,Type,Amount,Category,Description";
+    
+    // Listing account_id first lets H2 read the rows in index order instead of sorting them
+    private static final String SELECT_ACCOUNT_TRANSACTIONS =
+        "SELECT id, date, type, amount_minor, category, description FROM transactions " +
+        "WHERE account_id = ? ORDER BY account_id, date DESC, id DESC";
+    
+    private static final int FETCH_SIZE = 500;
+    private static final int WRITE_BUFFER_CHARS = 32 * 1024;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Transactional(readOnly = true)
+    public void export(Long userId, OutputStream out) throws IOException {
+        List<Account> accounts = accountRepository.findByUserId(userId);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_CHARS);
+        writer.write(HEADER);
+        writer.write('\n');
+        try {
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                writeMerged(connection, accounts, writer);
+                return null;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+    
+    private void writeMerged(Connection connection, List<Account> accounts, Writer writer) throws SQLException {
+        boolean h2 = "H2".equals(connection.getMetaData().getDatabaseProductName());
+        if (h2) {
+            // Without it H2 materializes each result before returning the first row
+            execute(connection, "SET LAZY_QUERY_EXECUTION TRUE");
+        }
+        List<Cursor> cursors = new ArrayList<>();
+        try {
+            PriorityQueue<Cursor> newestFirst = new PriorityQueue<>(
+                Comparator.comparing((Cursor cursor) -> cursor.date).thenComparingLong(cursor -> cursor.id).reversed());
+            for (Account account : accounts) {
+                PreparedStatement statement = connection.prepareStatement(SELECT_ACCOUNT_TRANSACTIONS);
+                Cursor cursor = new Cursor(statement, account.getAccountNumber());
+                cursors.add(cursor);
+                statement.setFetchSize(FETCH_SIZE);
+                statement.setLong(1, account.getId());
+                cursor.rows = statement.executeQuery();
+                if (cursor.advance()) {
+                    newestFirst.add(cursor);
+                }
+            }
+            
+            while (!newestFirst.isEmpty()) {
+                Cursor cursor = newestFirst.poll();
+                writeRow(writer, cursor);
+                if (cursor.advance()) {
+                    newestFirst.add(cursor);
+                }
+            }
+        } finally {
+            for (Cursor cursor : cursors) {
+                cursor.statement.close();
+            }
+            if (h2) {
+                execute(connection, "SET LAZY_QUERY_EXECUTION FALSE");
+            }
+        }
+    }
+    
+    private static void writeRow(Writer writer, Cursor cursor) {
+        try {
+            writer.write(cursor.date.toLocalDateTime().toString());
+            writer.write(',');
+            writeField(writer, cursor.accountNumber);
+            writer.write(',');
+            writeField(writer, cursor.type);
+            writer.write(',');
+            writer.write(Money.ofMinor(cursor.amountMinor).toString());
+            writer.write(',');
+            writeField(writer, cursor.category);
+            writer.write(',');
+            writeField(writer, cursor.description);
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private static void writeField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+    
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+    
+    // One account's open result set and its current row
+    private static final class Cursor {
+        private final PreparedStatement statement;
+        private final String accountNumber;
+        private ResultSet rows;
+        private long id;
+        private Timestamp date;
+        private String type;
+        private long amountMinor;
+        private String category;
+        private String description;
+        
+        Cursor(PreparedStatement statement, String accountNumber) {
+            this.statement = statement;
+            this.accountNumber = accountNumber;
+        }
+        
+        boolean advance() throws SQLException {
+            if (!rows.next()) {
+                return false;
+            }
+            id = rows.getLong(1);
+            date = rows.getTimestamp(2);
+            type = rows.getString(3);
+            amountMinor = rows.getLong(4);
+            category = rows.getString(5);
+            description = rows.getString(6);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.pext.service;
+
+import com.pext.dto.StatementImportProgress;
+import com.pext.dto.TransactionBatchResult;
+import com.pext.dto.TransactionRequest;
+import com.pext.model.Account;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Imports bank statements (CSV or OFX) into an account's transactions.
+ *
+ * The statement is parsed while it is read from the request body and
+ * stored in chunks of pext.import.chunk-rows rows, each through the bulk
+ * ingest path in its own database transaction. Memory use is bounded by
+ * one chunk whatever the size of the file. Progress is reported after
+ * every chunk; chunks already reported stay stored if a later one fails.
+ */
+@Service
+public class StatementImportService {
+    
+    public static final String CSV = "csv";
+    public static final String OFX = "ofx";
+    
+    private static final int READ_BUFFER_CHARS = 64 * 1024;
+    
+    @Value("${pext.import.chunk-rows:2000}")
+    private int chunkRows;
+    
+    @Autowired
+    private TransactionIngestService transactionIngestService;
+    
+    /**
+     * Opens a reader for the statement and checks its header.
+     *
+     * @param dateFormat pattern of CSV dates such as "MM/dd/yyyy"; ISO dates when null
+     * @throws IllegalArgumentException if the format is unknown or the header is invalid
+     */
+    public StatementReader open(String format, InputStream body, String dateFormat) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), READ_BUFFER_CHARS);
+        if (CSV.equalsIgnoreCase(format)) {
+            DateTimeFormatter formatter;
+            try {
+                formatter = dateFormat != null ? DateTimeFormatter.ofPattern(dateFormat) : null;
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid date format: " + dateFormat);
+            }
+            return new CsvStatementReader(reader, formatter);
+        }
+        if (OFX.equalsIgnoreCase(format)) {
+            return new OfxStatementReader(reader);
+        }
+        throw new IllegalArgumentException("Statement format must be csv or ofx");
+    }
+    
+    /**
+     * Stores every transaction of the statement in the given account. The
+     * listener receives the progress after each chunk and once more, marked
+     * done, at the end.
+     */
+    public StatementImportProgress importStatement(StatementReader reader, Account account,
+                                                   Consumer<StatementImportProgress> listener) throws IOException {
+        StatementImportProgress progress = new StatementImportProgress();
+        List<TransactionRequest> chunk = new ArrayList<>(chunkRows);
+        int[] positions = new int[chunkRows];
+        
+        while (true) {
+            TransactionRequest row;
+            try {
+                row = reader.next();
+            } catch (IllegalArgumentException e) {
+                progress.addRows(1);
+                progress.reject(reader.position(), e.getMessage());
+                continue;
+            }
+            if (row == null) {
+                break;
+            }
+            row.setAccountId(account.getId());
+            positions[chunk.size()] = reader.position();
+            chunk.add(row);
+            
+            if (chunk.size() == chunkRows) {
+                store(chunk, positions, account, progress);
+                listener.accept(progress);
+                progress.clearErrors();
+            }
+        }
+        store(chunk, positions, account, progress);
+        progress.setDone(true);
+        listener.accept(progress);
+        return progress;
+    }
+    
+    private void store(List<TransactionRequest> chunk, int[] positions, Account account, StatementImportProgress progress) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        TransactionBatchResult result = transactionIngestService.ingest(chunk, account.getUserId());
+        progress.addRows(chunk.size());
+        progress.addAccepted(result.getAccepted());
+        for (TransactionBatchResult.RowError error : result.getErrors()) {
+            progress.reject(positions[error.getIndex()], error.getMessage());
+        }
+        chunk.clear();
+    }
+}
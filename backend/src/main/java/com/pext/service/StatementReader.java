@@ -0,0 +1,26 @@
+package com.pext.service;
+
+import com.pext.dto.TransactionRequest;
+import java.io.IOException;
+
+/**
+ * Reads the transactions of an uploaded bank statement one at a time,
+ * straight from the underlying stream.
+ */
+public interface StatementReader {
+    
+    /**
+     * The next transaction, without an account ID, or null at the end of the
+     * statement.
+     *
+     * @throws IllegalArgumentException if the transaction cannot be read; it
+     *         has been consumed and the following one can still be read
+     */
+    TransactionRequest next() throws IOException;
+    
+    /**
+     * Position of the transaction last returned or refused: the line number
+     * in a CSV file, the ordinal of the transaction in an OFX file.
+     */
+    int position();
+}
@@ -0,0 +1,323 @@
+package com.pext.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.pext.dto.TransactionBatchResult;
+import com.pext.dto.TransactionRequest;
+import com.pext.model.Account;
+import com.pext.model.Money;
+import com.pext.model.TransactionsRecordedEvent;
+import com.pext.repository.AccountRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Stores uploaded transactions in bulk.
+ *
+ * The whole upload is validated in one pass against a single lookup of the
+ * referenced accounts. Valid rows are written with JDBC batch inserts and
+ * every affected account balance is adjusted by one UPDATE carrying the net
+ * amount of its rows, all in one database transaction. Invalid rows are
+ * reported back and do not stop the rest of the upload. Uploads arrive as
+ * raw JSON rows, so a malformed amount or date is reported against its own
+ * row instead of failing the whole request.
+ */
+@Service
+public class TransactionIngestService {
+    
+    private static final String INSERT_TRANSACTION =
+        "INSERT INTO transactions (account_id, amount_minor, type, category, description, date) " +
+        "VALUES (?, ?, ?, ?, ?, ?)";
+    
+    private static final String UPDATE_BALANCE =
+        "UPDATE accounts SET balance_minor = balance_minor + ? WHERE id = ?";
+    
+    private static final int MAX_TEXT_LENGTH = 255;
+    
+    @Value("${pext.ingest.batch-size:1000}")
+    private int batchSize;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private DomainEventPipeline eventPipeline;
+    
+    @Autowired
+    private LedgerService ledgerService;
+    
+    @Autowired
+    private TransactionRollupService rollupService;
+    
+    @Autowired
+    private CollectionVersions collectionVersions;
+    
+    @Autowired
+    private TransactionSearchIndex searchIndex;
+    
+    /**
+     * Converts, validates and stores uploaded JSON rows. Rows whose fields
+     * cannot be converted are rejected like any other invalid row.
+     */
+    @Transactional
+    public TransactionBatchResult ingestJson(List<JsonNode> nodes, Long ownerId) {
+        List<TransactionRequest> rows = new ArrayList<>(nodes.size());
+        Map<Integer, String> bindErrors = new HashMap<>();
+        for (int i = 0; i < nodes.size(); i++) {
+            try {
+                rows.add(bind(nodes.get(i)));
+            } catch (IllegalArgumentException e) {
+                rows.add(null);
+                bindErrors.put(i, e.getMessage());
+            }
+        }
+        return store(rows, bindErrors, ownerId);
+    }
+    
+    /**
+     * Validates and stores the given rows. When ownerId is set, rows for
+     * accounts of any other user are rejected as if the account did not exist.
+     */
+    @Transactional
+    public TransactionBatchResult ingest(List<TransactionRequest> rows, Long ownerId) {
+        return store(rows, Map.of(), ownerId);
+    }
+    
+    private TransactionBatchResult store(List<TransactionRequest> rows, Map<Integer, String> bindErrors, Long ownerId) {
+        TransactionBatchResult result = new TransactionBatchResult();
+        Map<Long, Account> accounts = loadAccounts(rows);
+        LocalDateTime now = LocalDateTime.now();
+        
+        List<Object[]> inserts = new ArrayList<>(Math.min(rows.size(), batchSize));
+        // Owner of each pending insert, and the stored rows per owner for the search index
+        List<Long> insertOwners = new ArrayList<>(Math.min(rows.size(), batchSize));
+        Map<Long, List<TransactionSearchIndex.Document>> searchDocuments = new HashMap<>();
+        Map<Long, Long> balanceDeltas = new HashMap<>();
+        // Rows dated in the past may land before existing balance checkpoints
+        Map<Long, Map<LocalDateTime, Long>> backdated = new HashMap<>();
+        TransactionRollupService.Batch rollups = new TransactionRollupService.Batch();
+        // Rows stored per user, announced to the derived views after commit
+        Map<Long, Integer> storedPerUser = new HashMap<>();
+        
+        for (int i = 0; i < rows.size(); i++) {
+            TransactionRequest row = rows.get(i);
+            String error = validate(row, bindErrors.get(i), accounts, ownerId);
+            if (error != null) {
+                result.reject(i, error);
+                continue;
+            }
+            
+            Account account = accounts.get(row.getAccountId());
+            boolean credit = "credit".equals(row.getType().toLowerCase(Locale.ROOT));
+            long amountMinor = row.getAmount().getMinorUnits();
+            LocalDateTime date = row.getDate() != null ? row.getDate() : now;
+            
+            String type = credit ? "credit" : "debit";
+            inserts.add(new Object[] {
+                account.getId(), amountMinor, type, row.getCategory(), row.getDescription(), Timestamp.valueOf(date)
+            });
+            insertOwners.add(account.getUserId());
+            rollups.add(account.getUserId(), account.getId(), date, row.getCategory(), type, amountMinor);
+            if (inserts.size() >= batchSize) {
+                flush(inserts, insertOwners, searchDocuments);
+            }
+            
+            long signed = credit ? amountMinor : -amountMinor;
+            balanceDeltas.merge(account.getId(), signed, Long::sum);
+            if (row.getDate() != null && !row.getDate().isAfter(now)) {
+                backdated.computeIfAbsent(account.getId(), id -> new HashMap<>()).merge(row.getDate(), signed, Long::sum);
+            }
+            storedPerUser.merge(account.getUserId(), 1, Integer::sum);
+            result.setAccepted(result.getAccepted() + 1);
+        }
+        flush(inserts, insertOwners, searchDocuments);
+        
+        applyBalances(balanceDeltas);
+        ledgerService.onBackdatedTransactions(backdated);
+        rollupService.apply(rollups);
+        for (Map.Entry<Long, Integer> stored : storedPerUser.entrySet()) {
+            eventPipeline.publishAfterCommit(new TransactionsRecordedEvent(stored.getKey(), stored.getValue()));
+            // Account listings carry the balances
+            collectionVersions.changed(CollectionVersions.ACCOUNTS, stored.getKey());
+        }
+        for (Map.Entry<Long, List<TransactionSearchIndex.Document>> documents : searchDocuments.entrySet()) {
+            searchIndex.onTransactionsRecorded(documents.getKey(), documents.getValue());
+        }
+        return result;
+    }
+    
+    private Map<Long, Account> loadAccounts(List<TransactionRequest> rows) {
+        Set<Long> accountIds = new HashSet<>();
+        for (TransactionRequest row : rows) {
+            if (row != null && row.getAccountId() != null) {
+                accountIds.add(row.getAccountId());
+            }
+        }
+        Map<Long, Account> accounts = new HashMap<>();
+        for (Account account : accountRepository.findAllById(accountIds)) {
+            accounts.put(account.getId(), account);
+        }
+        return accounts;
+    }
+    
+    /**
+     * Reads one uploaded row. Text fields are taken as given; the account ID,
+     * amount and date must convert or the row is refused with the reason.
+     */
+    private TransactionRequest bind(JsonNode node) {
+        if (node == null || node.isNull()) {
+            return null;
+        }
+        if (!node.isObject()) {
+            throw new IllegalArgumentException("Row must be an object");
+        }
+        TransactionRequest row = new TransactionRequest();
+        JsonNode accountId = field(node, "accountId");
+        if (accountId != null) {
+            if (accountId.isIntegralNumber() && accountId.canConvertToLong()) {
+                row.setAccountId(accountId.longValue());
+            } else {
+                try {
+                    row.setAccountId(Long.valueOf(accountId.asText().trim()));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid account ID format");
+                }
+            }
+        }
+        JsonNode amount = field(node, "amount");
+        if (amount != null) {
+            if (!amount.isNumber() && !amount.isTextual()) {
+                throw new IllegalArgumentException("Invalid amount format");
+            }
+            try {
+                row.setAmount(Money.parse(amount.asText()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid amount format");
+            }
+        }
+        JsonNode date = field(node, "date");
+        if (date != null) {
+            try {
+                row.setDate(LocalDateTime.parse(date.asText().trim()));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid date format");
+            }
+        }
+        row.setType(text(node, "type"));
+        row.setCategory(text(node, "category"));
+        row.setDescription(text(node, "description"));
+        return row;
+    }
+    
+    private static JsonNode field(JsonNode node, String name) {
+        JsonNode value = node.get(name);
+        return value == null || value.isNull() ? null : value;
+    }
+    
+    private static String text(JsonNode node, String name) {
+        JsonNode value = field(node, name);
+        return value == null ? null : value.asText();
+    }
+    
+    private String validate(TransactionRequest row, String bindError, Map<Long, Account> accounts, Long ownerId) {
+        if (bindError != null) {
+            return bindError;
+        }
+        if (row == null) {
+            return "Row is empty";
+        }
+        if (row.getAccountId() == null) {
+            return "Account ID is required";
+        }
+        Account account = accounts.get(row.getAccountId());
+        if (account == null || (ownerId != null && !ownerId.equals(account.getUserId()))) {
+            return "Account not found";
+        }
+        if (row.getAmount() == null) {
+            return "Amount is required";
+        }
+        if (row.getAmount().isNegative() || row.getAmount().isZero()) {
+            return "Amount must be positive";
+        }
+        if (row.getType() == null) {
+            return "Type is required";
+        }
+        String type = row.getType().toLowerCase(Locale.ROOT);
+        if (!"credit".equals(type) && !"debit".equals(type)) {
+            return "Type must be credit or debit";
+        }
+        if (row.getCategory() != null && row.getCategory().length() > MAX_TEXT_LENGTH) {
+            return "Category is too long";
+        }
+        if (row.getDescription() != null && row.getDescription().length() > MAX_TEXT_LENGTH) {
+            return "Description is too long";
+        }
+        return null;
+    }
+    
+    private void applyBalances(Map<Long, Long> balanceDeltas) {
+        List<Object[]> updates = new ArrayList<>(balanceDeltas.size());
+        for (Map.Entry<Long, Long> delta : balanceDeltas.entrySet()) {
+            if (delta.getValue() != 0) {
+                updates.add(new Object[] {delta.getValue(), delta.getKey()});
+            }
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_BALANCE, updates);
+        }
+    }
+    
+    private void flush(List<Object[]> inserts, List<Long> owners,
+                       Map<Long, List<TransactionSearchIndex.Document>> searchDocuments) {
+        if (inserts.isEmpty()) {
+            return;
+        }
+        // Generated IDs come back in row order and feed the search index
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+            connection -> connection.prepareStatement(INSERT_TRANSACTION, new String[] {"id"}),
+            new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    new ArgumentPreparedStatementSetter(inserts.get(i)).setValues(ps);
+                }
+                
+                @Override
+                public int getBatchSize() {
+                    return inserts.size();
+                }
+            },
+            keys);
+        
+        List<Map<String, Object>> keyList = keys.getKeyList();
+        for (int i = 0; i < inserts.size(); i++) {
+            long id = ((Number) keyList.get(i).values().iterator().next()).longValue();
+            Object[] row = inserts.get(i);
+            searchDocuments.computeIfAbsent(owners.get(i), owner -> new ArrayList<>())
+                .add(new TransactionSearchIndex.Document(id, (String) row[4], (String) row[3]));
+        }
+        inserts.clear();
+        owners.clear();
+    }
+}
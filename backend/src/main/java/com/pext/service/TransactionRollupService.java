@@ -0,0 +1,156 @@
+package com.pext.service;
+
+import com.pext.dto.CategoryBreakdown;
+import com.pext.model.TransactionRollup;
+import com.pext.repository.TransactionRollupRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maintains the monthly per-category rollups in transaction_rollups and
+ * serves category breakdowns from them.
+ *
+ * Writers collect the transactions they record in a {@link Batch}, which
+ * folds them into one delta per rollup row; {@link #apply(Batch)} then
+ * upserts each delta with a single MERGE.
+ */
+@Service
+public class TransactionRollupService {
+    
+    // Rollup category for transactions recorded without one
+    public static final String UNCATEGORIZED = "Uncategorized";
+    
+    private static final String MERGE_DELTA =
+        "MERGE INTO transaction_rollups r USING (SELECT CAST(? AS BIGINT) AS user_id, CAST(? AS BIGINT) AS account_id, " +
+        "CAST(? AS DATE) AS month_start, CAST(? AS VARCHAR(255)) AS category, CAST(? AS VARCHAR(255)) AS type, " +
+        "CAST(? AS BIGINT) AS tx_count, CAST(? AS BIGINT) AS amount_minor) d " +
+        "ON r.account_id = d.account_id AND r.month_start = d.month_start AND r.category = d.category AND r.type = d.type " +
+        "WHEN MATCHED THEN UPDATE SET tx_count = r.tx_count + d.tx_count, amount_minor = r.amount_minor + d.amount_minor " +
+        "WHEN NOT MATCHED THEN INSERT (user_id, account_id, month_start, category, type, tx_count, amount_minor) " +
+        "VALUES (d.user_id, d.account_id, d.month_start, d.category, d.type, d.tx_count, d.amount_minor)";
+    
+    private static final String REBUILD =
+        "INSERT INTO transaction_rollups (user_id, account_id, month_start, category, type, tx_count, amount_minor) " +
+        "SELECT a.user_id, t.account_id, CAST(DATE_TRUNC('MONTH', t.date) AS DATE), COALESCE(t.category, '" + UNCATEGORIZED + "'), " +
+        "t.type, COUNT(*), SUM(t.amount_minor) " +
+        "FROM transactions t JOIN accounts a ON a.id = t.account_id " +
+        "GROUP BY a.user_id, t.account_id, CAST(DATE_TRUNC('MONTH', t.date) AS DATE), COALESCE(t.category, '" + UNCATEGORIZED + "'), t.type";
+    
+    // Row count and amount total of what the rollups cover, and of what they actually hold
+    private static final String TRANSACTION_TOTALS =
+        "SELECT COUNT(*), COALESCE(SUM(t.amount_minor), 0) FROM transactions t JOIN accounts a ON a.id = t.account_id";
+    private static final String ROLLUP_TOTALS =
+        "SELECT COALESCE(SUM(tx_count), 0), COALESCE(SUM(amount_minor), 0) FROM transaction_rollups";
+    
+    @Autowired
+    private TransactionRollupRepository rollupRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    /**
+     * Net change to the rollups from a group of recorded or removed
+     * transactions.
+     */
+    public static class Batch {
+        // (userId, accountId, month start, category, type) -> {count, amount in minor units}
+        private final Map<List<Object>, long[]> deltas = new HashMap<>();
+        
+        public void add(Long userId, Long accountId, LocalDateTime date, String category, String type, long amountMinor) {
+            change(userId, accountId, date, category, type, 1, amountMinor);
+        }
+        
+        public void remove(Long userId, Long accountId, LocalDateTime date, String category, String type, long amountMinor) {
+            change(userId, accountId, date, category, type, -1, -amountMinor);
+        }
+        
+        private void change(Long userId, Long accountId, LocalDateTime date, String category, String type,
+                            long count, long amountMinor) {
+            List<Object> key = Arrays.asList(userId, accountId, date.toLocalDate().withDayOfMonth(1),
+                category != null ? category : UNCATEGORIZED, type);
+            long[] delta = deltas.computeIfAbsent(key, k -> new long[2]);
+            delta[0] += count;
+            delta[1] += amountMinor;
+        }
+    }
+    
+    @Transactional
+    public void apply(Batch batch) {
+        List<Object[]> merges = new ArrayList<>(batch.deltas.size());
+        for (Map.Entry<List<Object>, long[]> delta : batch.deltas.entrySet()) {
+            List<Object> key = delta.getKey();
+            if (delta.getValue()[0] == 0 && delta.getValue()[1] == 0) {
+                continue;
+            }
+            merges.add(new Object[] {
+                key.get(0), key.get(1), Date.valueOf((LocalDate) key.get(2)), key.get(3), key.get(4),
+                delta.getValue()[0], delta.getValue()[1]
+            });
+        }
+        if (!merges.isEmpty()) {
+            jdbcTemplate.batchUpdate(MERGE_DELTA, merges);
+        }
+    }
+    
+    /**
+     * Recomputes all rollups from the transactions table. Used after bulk
+     * loads that bypass {@link #apply(Batch)}.
+     */
+    @Transactional
+    public void rebuild() {
+        jdbcTemplate.update("DELETE FROM transaction_rollups");
+        jdbcTemplate.update(REBUILD);
+    }
+    
+    /**
+     * Whether the rollups disagree with the transactions table on the number
+     * of rows or their total amount, e.g. after a bulk load that bypassed
+     * them or an interrupted startup that never rebuilt them.
+     */
+    @Transactional(readOnly = true)
+    public boolean isStale() {
+        List<Long> transactions = jdbcTemplate.queryForObject(TRANSACTION_TOTALS,
+            (rs, row) -> List.of(rs.getLong(1), rs.getLong(2)));
+        List<Long> rollups = jdbcTemplate.queryForObject(ROLLUP_TOTALS,
+            (rs, row) -> List.of(rs.getLong(1), rs.getLong(2)));
+        return !transactions.equals(rollups);
+    }
+    
+    /**
+     * Category totals per month for a user, or for a single account when
+     * accountId is set, ordered by month, category and type.
+     */
+    @Transactional(readOnly = true)
+    public List<CategoryBreakdown> breakdown(Long userId, Long accountId, YearMonth from, YearMonth to) {
+        LocalDate fromDay = from.atDay(1);
+        LocalDate toDay = to.atDay(1);
+        List<TransactionRollup> rollups = accountId != null
+            ? rollupRepository.findByAccountIdAndMonthStartBetween(accountId, fromDay, toDay)
+            : rollupRepository.findByUserIdAndMonthStartBetween(userId, fromDay, toDay);
+        
+        // Rows of different accounts share a (month, category, type) entry; the key sorts in that order
+        Map<String, CategoryBreakdown> merged = new TreeMap<>();
+        for (TransactionRollup rollup : rollups) {
+            if (accountId != null && userId != null && !userId.equals(rollup.getUserId())) {
+                continue;
+            }
+            String month = YearMonth.from(rollup.getMonthStart()).toString();
+            merged.computeIfAbsent(month + '\u0000' + rollup.getCategory() + '\u0000' + rollup.getType(),
+                    key -> new CategoryBreakdown(month, rollup.getCategory(), rollup.getType()))
+                .add(rollup.getCount(), rollup.getAmount());
+        }
+        return new ArrayList<>(merged.values());
+    }
+}
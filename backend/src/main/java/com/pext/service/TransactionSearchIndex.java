@@ -0,0 +1,305 @@
+package com.pext.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Per-user inverted index over transaction descriptions and categories.
+ *
+ * A user's index is built from the database on their first search and then
+ * kept current as transactions are recorded. Terms map to posting lists of
+ * transaction IDs held in sorted long arrays; a query matches every token
+ * as a prefix and intersects the results. Indexes are bounded by total
+ * posting count (pext.search.max-postings) and held softly, so the garbage
+ * collector can drop them under memory pressure; they are rebuilt on the
+ * next search.
+ */
+@Service
+public class TransactionSearchIndex {
+    
+    private static final String LOAD_USER_TRANSACTIONS =
+        "SELECT t.id, t.description, t.category FROM transactions t " +
+        "JOIN accounts a ON a.id = t.account_id WHERE a.user_id = ? ORDER BY t.id";
+    
+    // Recorded transactions bump their user's stripe, so a build that overlapped a write is not kept
+    private static final int WRITE_STRIPES = 1024;
+    
+    private static final int MAX_QUERY_TOKENS = 8;
+    
+    @Value("${pext.search.max-postings:5000000}")
+    private long maxPostings;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    private final AtomicLongArray writeStripes = new AtomicLongArray(WRITE_STRIPES);
+    private Cache<Long, UserIndex> indexes;
+    
+    @PostConstruct
+    public void init() {
+        indexes = Caffeine.newBuilder()
+            .maximumWeight(maxPostings)
+            .weigher((Long userId, UserIndex index) -> index.weight())
+            .softValues()
+            .build();
+    }
+    
+    /**
+     * A recorded transaction to add to its owner's index.
+     */
+    public static class Document {
+        private final long id;
+        private final String description;
+        private final String category;
+        
+        public Document(long id, String description, String category) {
+            this.id = id;
+            this.description = description;
+            this.category = category;
+        }
+    }
+    
+    /**
+     * IDs of the user's transactions matching every token of the query,
+     * highest (most recently recorded) first.
+     */
+    public long[] search(Long userId, String query) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return new long[0];
+        }
+        if (tokens.size() > MAX_QUERY_TOKENS) {
+            tokens = tokens.subList(0, MAX_QUERY_TOKENS);
+        }
+        
+        long[] matches = index(userId).search(tokens);
+        // Reverse in place: postings are ascending
+        for (int i = 0, j = matches.length - 1; i < j; i++, j--) {
+            long id = matches[i];
+            matches[i] = matches[j];
+            matches[j] = id;
+        }
+        return matches;
+    }
+    
+    /**
+     * Adds newly recorded transactions to the owner's index. Inside a
+     * transaction this happens after commit. Users without a built index are
+     * skipped; their index will see the rows when it is built.
+     */
+    public void onTransactionsRecorded(Long userId, Collection<Document> documents) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    addDocuments(userId, documents);
+                }
+            });
+        } else {
+            addDocuments(userId, documents);
+        }
+    }
+    
+    private void addDocuments(Long userId, Collection<Document> documents) {
+        writeStripes.incrementAndGet(stripe(userId));
+        UserIndex index = indexes.getIfPresent(userId);
+        if (index == null) {
+            return;
+        }
+        for (Document document : documents) {
+            index.add(document.id, document.description, document.category);
+        }
+        // Re-insert so the cache weighs the grown index
+        indexes.asMap().replace(userId, index, index);
+    }
+    
+    private UserIndex index(Long userId) {
+        UserIndex index = indexes.getIfPresent(userId);
+        if (index != null) {
+            return index;
+        }
+        
+        // Built outside the cache's compute lock: the load is a JDBC query
+        long writesBefore = writeStripes.get(stripe(userId));
+        UserIndex built = new UserIndex();
+        jdbcTemplate.query(LOAD_USER_TRANSACTIONS,
+            rs -> { built.add(rs.getLong(1), rs.getString(2), rs.getString(3)); }, userId);
+        if (writeStripes.get(stripe(userId)) != writesBefore) {
+            // A write committed meanwhile and may be missing; answer from this build but do not keep it
+            return built;
+        }
+        UserIndex existing = indexes.asMap().putIfAbsent(userId, built);
+        return existing != null ? existing : built;
+    }
+    
+    private static int stripe(Long userId) {
+        return (int) Math.floorMod(userId, (long) WRITE_STRIPES);
+    }
+    
+    /**
+     * Lower-cased runs of letters and digits, each distinct token once, in
+     * order of first appearance.
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        Set<String> tokens = new LinkedHashSet<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+    
+    private static final class UserIndex {
+        private final TreeMap<String, Postings> terms = new TreeMap<>();
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private long postingCount;
+        
+        void add(long id, String description, String category) {
+            Set<String> tokens = new LinkedHashSet<>(tokenize(description));
+            tokens.addAll(tokenize(category));
+            lock.writeLock().lock();
+            try {
+                for (String token : tokens) {
+                    if (terms.computeIfAbsent(token, t -> new Postings()).add(id)) {
+                        postingCount++;
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        
+        long[] search(List<String> prefixes) {
+            lock.readLock().lock();
+            try {
+                long[] result = null;
+                for (String prefix : prefixes) {
+                    long[] matches = matchPrefix(prefix);
+                    result = result == null ? matches : intersect(result, matches);
+                    if (result.length == 0) {
+                        break;
+                    }
+                }
+                return result;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        
+        // Union of the postings of every term starting with the prefix, sorted and distinct
+        private long[] matchPrefix(String prefix) {
+            Map<String, Postings> range = terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+            if (range.size() == 1) {
+                return range.values().iterator().next().toArray();
+            }
+            int total = 0;
+            for (Postings postings : range.values()) {
+                total += postings.size;
+            }
+            long[] union = new long[total];
+            int offset = 0;
+            for (Postings postings : range.values()) {
+                System.arraycopy(postings.ids, 0, union, offset, postings.size);
+                offset += postings.size;
+            }
+            Arrays.sort(union);
+            int distinct = 0;
+            for (int i = 0; i < union.length; i++) {
+                if (distinct == 0 || union[distinct - 1] != union[i]) {
+                    union[distinct++] = union[i];
+                }
+            }
+            return Arrays.copyOf(union, distinct);
+        }
+        
+        private static long[] intersect(long[] a, long[] b) {
+            long[] result = new long[Math.min(a.length, b.length)];
+            int i = 0;
+            int j = 0;
+            int count = 0;
+            while (i < a.length && j < b.length) {
+                if (a[i] < b[j]) {
+                    i++;
+                } else if (a[i] > b[j]) {
+                    j++;
+                } else {
+                    result[count++] = a[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(result, count);
+        }
+        
+        int weight() {
+            lock.readLock().lock();
+            try {
+                return (int) Math.min(Integer.MAX_VALUE, postingCount + terms.size());
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+    
+    // Sorted, distinct transaction IDs of one term
+    private static final class Postings {
+        private long[] ids = new long[4];
+        private int size;
+        
+        boolean add(long id) {
+            if (size == 0 || ids[size - 1] < id) {
+                ensureCapacity();
+                ids[size++] = id;
+                return true;
+            }
+            // Out-of-order ID (concurrent writers): insert in place unless already present
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return false;
+            }
+            int insertAt = -position - 1;
+            ensureCapacity();
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+            return true;
+        }
+        
+        long[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+        
+        private void ensureCapacity() {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+        }
+    }
+}
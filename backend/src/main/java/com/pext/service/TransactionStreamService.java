@@ -0,0 +1,42 @@
+package com.pext.service;
+
+import com.pext.model.Transaction;
+import com.pext.repository.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Walks transactions straight off a database cursor so that exports and
+ * streaming responses never hold the full result set in memory.
+ */
+@Service
+public class TransactionStreamService {
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    /**
+     * Hands every transaction (optionally limited to one account) to the
+     * given action, newest first. Each row is detached once the action is
+     * done with it so the persistence context stays empty.
+     */
+    @Transactional(readOnly = true)
+    public void forEachTransaction(Long accountId, Consumer<Transaction> action) {
+        try (Stream<Transaction> rows = accountId == null
+                ? transactionRepository.streamAll()
+                : transactionRepository.streamByAccountId(accountId)) {
+            rows.forEach(transaction -> {
+                action.accept(transaction);
+                entityManager.detach(transaction);
+            });
+        }
+    }
+}
@@ -43,7 +43,14 @@ public class UserService {
     }
     
     public boolean authenticateUser(String mobile, String password) {
-        Optional<User> user = userRepository.findByMobile(mobile);
-        return user.isPresent() && user.get().getPassword().equals(password);
+        return authenticate(mobile, password).isPresent();
+    }
+    
+    /**
+     * Returns the user when the credentials match, with a single lookup.
+     */
+    public Optional<User> authenticate(String mobile, String password) {
+        return userRepository.findByMobile(mobile)
+            .filter(user -> user.getPassword().equals(password));
     }
 }
\ No newline at end of file
@@ -0,0 +1,95 @@
+-- Baseline schema, matching what Hibernate generated before migrations took over.
+-- IF NOT EXISTS lets databases created by ddl-auto=update adopt this history.
+
+CREATE TABLE IF NOT EXISTS banks (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    name VARCHAR(255) NOT NULL,
+    icon VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    username VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    full_name VARCHAR(255),
+    email VARCHAR(255),
+    mobile VARCHAR(255),
+    city VARCHAR(255),
+    country VARCHAR(255),
+    monthly_budget VARCHAR(255),
+    currency VARCHAR(255),
+    app_pin VARCHAR(255),
+    fingerprint_enabled BOOLEAN,
+    is_profile_complete BOOLEAN,
+    created_at TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS accounts (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    user_id BIGINT NOT NULL,
+    bank_id BIGINT NOT NULL,
+    account_number VARCHAR(255) NOT NULL,
+    type VARCHAR(255) NOT NULL,
+    balance_minor BIGINT NOT NULL,
+    is_linked BOOLEAN,
+    loan_amount_minor BIGINT,
+    loan_paid_minor BIGINT,
+    created_at TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS transactions (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    account_id BIGINT NOT NULL,
+    amount_minor BIGINT NOT NULL,
+    type VARCHAR(255) NOT NULL,
+    category VARCHAR(255),
+    description VARCHAR(255),
+    date TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS cards (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    user_id BIGINT NOT NULL,
+    contact_number VARCHAR(255) NOT NULL,
+    card_account_number VARCHAR(255) NOT NULL,
+    account_type VARCHAR(255) NOT NULL,
+    initial_balance_minor BIGINT NOT NULL,
+    created_at TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS loans (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    user_id BIGINT NOT NULL,
+    loan_type VARCHAR(255),
+    total_amount FLOAT(53),
+    emi_amount FLOAT(53),
+    remaining_amount FLOAT(53),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS saving_goals (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    user_id BIGINT NOT NULL,
+    target_amount FLOAT(53),
+    current_amount FLOAT(53),
+    editable BOOLEAN,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS user_summaries (
+    user_id BIGINT NOT NULL,
+    total_balance_minor BIGINT NOT NULL,
+    loan_outstanding_minor BIGINT NOT NULL,
+    saving_target_minor BIGINT NOT NULL,
+    saving_current_minor BIGINT NOT NULL,
+    summary_month VARCHAR(255) NOT NULL,
+    month_debit_minor BIGINT NOT NULL,
+    month_credit_minor BIGINT NOT NULL,
+    updated_at TIMESTAMP(6),
+    PRIMARY KEY (user_id)
+);
@@ -0,0 +1,21 @@
+-- Secondary indexes backing the repository finder methods.
+-- H2 builds an index in a single statement; on PostgreSQL these would be
+-- CREATE INDEX CONCURRENTLY in a non-transactional migration.
+
+-- TransactionRepository.findByAccountId / findByAccountIdIn and the per-account keyset pages
+CREATE INDEX IF NOT EXISTS idx_transactions_account_date ON transactions (account_id, date DESC, id DESC);
+
+-- Global keyset pages, newest first
+CREATE INDEX IF NOT EXISTS idx_transactions_date_id ON transactions (date DESC, id DESC);
+
+-- AccountRepository.findByUserId / findByUserIdAndIsLinkedTrue
+CREATE INDEX IF NOT EXISTS idx_accounts_user_linked ON accounts (user_id, is_linked);
+
+-- CardRepository / LoanRepository / SavingGoalRepository.findByUserId
+CREATE INDEX IF NOT EXISTS idx_cards_user ON cards (user_id);
+CREATE INDEX IF NOT EXISTS idx_loans_user ON loans (user_id);
+CREATE INDEX IF NOT EXISTS idx_saving_goals_user ON saving_goals (user_id);
+
+-- UserRepository.findByMobile (login) and findByUsername
+CREATE UNIQUE INDEX IF NOT EXISTS uk_users_mobile ON users (mobile);
+CREATE INDEX IF NOT EXISTS idx_users_username ON users (username);
@@ -0,0 +1,22 @@
+-- Balance checkpoints for the account ledger. The transactions table is the
+-- append-only ledger itself; each snapshot holds an account's balance
+-- including every transaction dated at or before as_of.
+CREATE TABLE IF NOT EXISTS account_balance_snapshots (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    account_id BIGINT NOT NULL,
+    as_of TIMESTAMP(6) NOT NULL,
+    balance_minor BIGINT NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- Latest snapshot at or before a point in time, per account
+CREATE UNIQUE INDEX IF NOT EXISTS uk_balance_snapshots_account_as_of ON account_balance_snapshots (account_id, as_of DESC);
+
+-- Opening snapshot for existing accounts: whatever part of the stored
+-- balance the recorded transactions do not explain.
+INSERT INTO account_balance_snapshots (account_id, as_of, balance_minor)
+SELECT a.id, TIMESTAMP '1970-01-01 00:00:00', a.balance_minor - COALESCE((
+    SELECT SUM(CASE WHEN t.type = 'credit' THEN t.amount_minor ELSE -t.amount_minor END)
+    FROM transactions t WHERE t.account_id = a.id), 0)
+FROM accounts a
+WHERE NOT EXISTS (SELECT 1 FROM account_balance_snapshots s WHERE s.account_id = a.id);
@@ -0,0 +1,23 @@
+-- Per account, month, category and type: how many transactions and their
+-- total. Serves category breakdowns without reading the transactions.
+CREATE TABLE IF NOT EXISTS transaction_rollups (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    user_id BIGINT NOT NULL,
+    account_id BIGINT NOT NULL,
+    month_start DATE NOT NULL,
+    category VARCHAR(255) NOT NULL,
+    type VARCHAR(255) NOT NULL,
+    tx_count BIGINT NOT NULL,
+    amount_minor BIGINT NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_transaction_rollups_key ON transaction_rollups (account_id, month_start, category, type);
+CREATE INDEX IF NOT EXISTS idx_transaction_rollups_user_month ON transaction_rollups (user_id, month_start);
+
+-- Backfill from the transactions already recorded
+INSERT INTO transaction_rollups (user_id, account_id, month_start, category, type, tx_count, amount_minor)
+SELECT a.user_id, t.account_id, CAST(DATE_TRUNC('MONTH', t.date) AS DATE), COALESCE(t.category, 'Uncategorized'), t.type,
+       COUNT(*), SUM(t.amount_minor)
+FROM transactions t JOIN accounts a ON a.id = t.account_id
+GROUP BY a.user_id, t.account_id, CAST(DATE_TRUNC('MONTH', t.date) AS DATE), COALESCE(t.category, 'Uncategorized'), t.type;
@@ -0,0 +1,4 @@
+-- Annual interest rate in percent, needed for amortization schedules.
+-- Existing loans keep NULL until a rate is known; schedules for them take
+-- the rate as a request parameter.
+ALTER TABLE loans ADD COLUMN IF NOT EXISTS annual_rate FLOAT(53);
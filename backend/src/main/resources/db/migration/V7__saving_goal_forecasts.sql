@@ -0,0 +1,6 @@
+-- Completion forecasts written by the nightly saving goal job. A NULL
+-- forecast_date after a run means the goal is not reached at the user's
+-- current pace of saving.
+ALTER TABLE saving_goals ADD COLUMN IF NOT EXISTS forecast_date DATE;
+ALTER TABLE saving_goals ADD COLUMN IF NOT EXISTS forecast_monthly_saving FLOAT(53);
+ALTER TABLE saving_goals ADD COLUMN IF NOT EXISTS forecasted_at TIMESTAMP(6);
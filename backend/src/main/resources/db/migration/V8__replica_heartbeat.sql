@@ -0,0 +1,9 @@
+-- Written on the primary every few seconds; the value a replica holds tells
+-- how far behind it is (see ReplicaLagMonitor)
+CREATE TABLE IF NOT EXISTS replica_heartbeat (
+    id INT NOT NULL,
+    beat_millis BIGINT NOT NULL,
+    PRIMARY KEY (id)
+);
+
+INSERT INTO replica_heartbeat (id, beat_millis) SELECT 1, 0 WHERE NOT EXISTS (SELECT 1 FROM replica_heartbeat);
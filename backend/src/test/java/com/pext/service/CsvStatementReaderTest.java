@@ -0,0 +1,118 @@
+package com.pext.service;
+
+import com.pext.dto.TransactionRequest;
+import com.pext.model.Money;
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvStatementReaderTest {
+    
+    private static CsvStatementReader reader(String csv) throws IOException {
+        return new CsvStatementReader(new StringReader(csv), null);
+    }
+    
+    @Test
+    void quotedFieldMaySpanLines() throws IOException {
+        CsvStatementReader reader = reader(
+            "date,amount,description\n" +
+            "2024-01-02,-12.50,\"Line one\nline \"\"two\"\", with comma\"\n" +
+            "2024-01-03,5,Next\n");
+        
+        TransactionRequest first = reader.next();
+        assertEquals("Line one\nline \"two\", with comma", first.getDescription());
+        assertEquals(Money.parse("12.50"), first.getAmount());
+        assertEquals("debit", first.getType());
+        assertEquals(2, reader.position());
+        
+        TransactionRequest second = reader.next();
+        assertEquals("Next", second.getDescription());
+        assertEquals("credit", second.getType());
+        assertEquals(4, reader.position());
+        assertNull(reader.next());
+    }
+    
+    @Test
+    void crlfLineEndings() throws IOException {
+        CsvStatementReader reader = reader(
+            "date,amount,description\r\n" +
+            "2024-01-02,10,A\r\n" +
+            "\r\n" +
+            "2024-01-03T08:30:00,20,B\r\n");
+        
+        TransactionRequest first = reader.next();
+        assertEquals("A", first.getDescription());
+        assertEquals(LocalDateTime.of(2024, 1, 2, 0, 0), first.getDate());
+        assertEquals(2, reader.position());
+        
+        TransactionRequest second = reader.next();
+        assertEquals("B", second.getDescription());
+        assertEquals(LocalDateTime.of(2024, 1, 3, 8, 30), second.getDate());
+        assertEquals(4, reader.position());
+        assertNull(reader.next());
+    }
+    
+    @Test
+    void byteOrderMarkBeforeHeader() throws IOException {
+        CsvStatementReader reader = reader("\uFEFFDate,Amount,Memo\n2024-01-02,1.00,Fee\n");
+        
+        TransactionRequest row = reader.next();
+        assertEquals(LocalDateTime.of(2024, 1, 2, 0, 0), row.getDate());
+        assertEquals("Fee", row.getDescription());
+    }
+    
+    @Test
+    void debitAndCreditColumns() throws IOException {
+        CsvStatementReader reader = reader(
+            "date,description,debit,credit\n" +
+            "2024-01-02,Coffee,12.00,\n" +
+            "2024-01-03,Salary,,\"1,500.00\"\n");
+        
+        TransactionRequest debit = reader.next();
+        assertEquals("debit", debit.getType());
+        assertEquals(Money.parse("12.00"), debit.getAmount());
+        
+        TransactionRequest credit = reader.next();
+        assertEquals("credit", credit.getType());
+        assertEquals(Money.parse("1500.00"), credit.getAmount());
+    }
+    
+    @Test
+    void parenthesizedAmountsAreNegative() throws IOException {
+        CsvStatementReader reader = reader(
+            "date,amount,description\n" +
+            "2024-01-02,\"(1,234.56)\",Rent\n" +
+            "2024-01-03,($5.00),Fee\n");
+        
+        TransactionRequest rent = reader.next();
+        assertEquals("debit", rent.getType());
+        assertEquals(Money.parse("1234.56"), rent.getAmount());
+        
+        TransactionRequest fee = reader.next();
+        assertEquals("debit", fee.getType());
+        assertEquals(Money.parse("5.00"), fee.getAmount());
+    }
+    
+    @Test
+    void rowWithTooManyFieldsIsRefused() throws IOException {
+        CsvStatementReader reader = reader(
+            "date,amount,description\n" +
+            "2024-01-02,1.00,Wide" + ",x".repeat(300) + "\n" +
+            "2024-01-03,2.00,Narrow\n");
+        
+        assertThrows(IllegalArgumentException.class, reader::next);
+        assertEquals(2, reader.position());
+        assertEquals("Narrow", reader.next().getDescription());
+    }
+    
+    @Test
+    void headerWithTooManyColumnsIsRefused() {
+        assertThrows(IllegalArgumentException.class,
+            () -> reader("date,amount,description" + ",x".repeat(300) + "\n"));
+    }
+}
@@ -0,0 +1,145 @@
+package com.pext.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DomainEventPipelineTest {
+    
+    private DomainEventPipeline pipeline;
+    
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        pipeline.shutdown();
+    }
+    
+    @Test
+    void failingBatchIsDeliveredAgain() throws InterruptedException {
+        pipeline = new DomainEventPipeline(8, 8, 5, 16, new SimpleMeterRegistry());
+        AtomicInteger calls = new AtomicInteger();
+        List<Object> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch delivered = new CountDownLatch(1);
+        pipeline.subscribe("flaky", events -> {
+            if (calls.incrementAndGet() <= 2) {
+                throw new IllegalStateException("not yet");
+            }
+            received.addAll(events);
+            delivered.countDown();
+        });
+        
+        pipeline.publish(List.of("a", "b"));
+        
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("a", "b"), received);
+        assertEquals(3, calls.get());
+    }
+    
+    @Test
+    void batchIsHandedBackAfterLastAttempt() throws InterruptedException {
+        pipeline = new DomainEventPipeline(8, 8, 2, 16, new SimpleMeterRegistry());
+        List<Object> failed = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch gaveUp = new CountDownLatch(1);
+        pipeline.subscribe("broken", new DomainEventPipeline.EventConsumer() {
+            @Override
+            public void onEvents(List<Object> events) {
+                throw new IllegalStateException("always");
+            }
+            
+            @Override
+            public void onFailed(List<Object> events, RuntimeException e) {
+                failed.addAll(events);
+                gaveUp.countDown();
+            }
+        });
+        
+        pipeline.publish(List.of("a"));
+        
+        assertTrue(gaveUp.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("a"), failed);
+    }
+    
+    @Test
+    void afterCommitDoesNotWaitForAFullRing() throws InterruptedException {
+        pipeline = new DomainEventPipeline(2, 1, 1, 16, new SimpleMeterRegistry());
+        CountDownLatch release = new CountDownLatch(1);
+        List<Object> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch delivered = new CountDownLatch(10);
+        pipeline.subscribe("slow", events -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            received.addAll(events);
+            events.forEach(event -> delivered.countDown());
+        });
+        
+        TransactionSynchronizationManager.initSynchronization();
+        for (int i = 0; i < 10; i++) {
+            pipeline.publishAfterCommit(i);
+        }
+        // The subscriber is stuck on the first event, so a waiting publisher would never return
+        TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        TransactionSynchronizationManager.clearSynchronization();
+        
+        release.countDown();
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), received);
+    }
+    
+    @Test
+    void eventsPastTheOverflowBoundAreHandedBackAsFailed() throws InterruptedException {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        pipeline = new DomainEventPipeline(2, 1, 1, 3, meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Object> received = Collections.synchronizedList(new ArrayList<>());
+        List<Object> failed = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch delivered = new CountDownLatch(5);
+        pipeline.subscribe("stuck", new DomainEventPipeline.EventConsumer() {
+            @Override
+            public void onEvents(List<Object> events) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                received.addAll(events);
+                events.forEach(event -> delivered.countDown());
+            }
+            
+            @Override
+            public void onFailed(List<Object> events, RuntimeException e) {
+                failed.addAll(events);
+            }
+        });
+        
+        TransactionSynchronizationManager.initSynchronization();
+        for (int i = 0; i < 8; i++) {
+            pipeline.publishAfterCommit(i);
+        }
+        TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        TransactionSynchronizationManager.clearSynchronization();
+        
+        // Two fit in the ring and three behind it; the rest are reported right away
+        assertEquals(List.of(5, 6, 7), failed);
+        assertEquals(3.0, meterRegistry.get("pext.events.dropped").counter().count());
+        
+        release.countDown();
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(0, 1, 2, 3, 4), received);
+    }
+}
@@ -0,0 +1,122 @@
+package com.pext.service;
+
+import com.pext.dto.LoanSchedule;
+import com.pext.model.Loan;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import com.pext.model.Money;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LoanScheduleServiceTest {
+    
+    private static final LocalDate FIRST_PAYMENT = LocalDate.of(2025, 1, 1);
+    
+    private LoanScheduleService service;
+    
+    @BeforeEach
+    void setUp() {
+        service = new LoanScheduleService();
+        ReflectionTestUtils.setField(service, "cacheSize", 100L);
+        ReflectionTestUtils.setField(service, "cacheExpiry", Duration.ofMinutes(1));
+        service.init();
+    }
+    
+    @Test
+    void zeroRateRepaysPrincipalOnly() {
+        LoanScheduleService.Amortization schedule = LoanScheduleService.amortize(100_000, 30_000, 0, 0, null);
+        
+        assertEquals(4, schedule.count);
+        for (int i = 0; i < schedule.count; i++) {
+            assertEquals(0, schedule.interest[i]);
+        }
+        assertEquals(10_000, schedule.payment[3]);
+        assertEquals(0, schedule.balance[3]);
+    }
+    
+    @Test
+    void emiBelowInterestIsRefused() {
+        // 1% a month on 10,000.00 is 100.00, more than the 50.00 EMI
+        assertThrows(IllegalArgumentException.class,
+            () -> LoanScheduleService.amortize(1_000_000, 5_000, 0.01, 0, null));
+    }
+    
+    @Test
+    void prepaymentLargerThanBalanceOnlyClearsIt() {
+        long[] lumpSums = new long[LoanScheduleService.MAX_PAYMENTS + 1];
+        lumpSums[2] = 1_000_000;
+        LoanScheduleService.Amortization schedule = LoanScheduleService.amortize(100_000, 10_000, 0, 0, lumpSums);
+        
+        assertEquals(2, schedule.count);
+        assertEquals(80_000, schedule.extra[1]);
+        assertEquals(0, schedule.balance[1]);
+    }
+    
+    @Test
+    void scheduleIsCappedAtMaxPayments() {
+        long emi = 100;
+        LoanScheduleService.Amortization longest =
+            LoanScheduleService.amortize(emi * LoanScheduleService.MAX_PAYMENTS, emi, 0, 0, null);
+        assertEquals(LoanScheduleService.MAX_PAYMENTS, longest.count);
+        
+        assertThrows(IllegalArgumentException.class,
+            () -> LoanScheduleService.amortize(emi * LoanScheduleService.MAX_PAYMENTS + 1, emi, 0, 0, null));
+    }
+    
+    @Test
+    void overflowingExtraPaymentsAreRefused() {
+        long[] lumpSums = new long[LoanScheduleService.MAX_PAYMENTS + 1];
+        lumpSums[1] = 1;
+        assertThrows(IllegalArgumentException.class,
+            () -> LoanScheduleService.amortize(100_000, 10_000, 0, Long.MAX_VALUE, lumpSums));
+    }
+    
+    @Test
+    void rateMustBeFiniteAndWithinRange() {
+        Loan loan = loan(12.0);
+        
+        assertThrows(IllegalArgumentException.class, () -> schedule(loan, Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> schedule(loan, Double.POSITIVE_INFINITY));
+        assertThrows(IllegalArgumentException.class, () -> schedule(loan, -0.5));
+        assertThrows(IllegalArgumentException.class, () -> schedule(loan, 100.5));
+        assertEquals(100.0, schedule(loan, 100.0).getAnnualRate());
+    }
+    
+    @Test
+    void storedRateIsCheckedToo() {
+        assertThrows(IllegalArgumentException.class, () -> schedule(loan(250.0), null));
+        assertThrows(IllegalArgumentException.class, () -> schedule(loan(null), null));
+        assertEquals(12.0, schedule(loan(12.0), null).getAnnualRate());
+    }
+    
+    @Test
+    void scenarioIsScheduledWhenEmiAloneNeverRepays() {
+        // 12% a year on 10,000.00 is 100.00 a month, more than the 50.00 EMI
+        Loan loan = new Loan(1L, "Personal", 10_000.0, 50.0, 10_000.0);
+        loan.setId(2L);
+        loan.setAnnualRate(12.0);
+        
+        LoanSchedule schedule = service.schedule(loan, null, Money.parse("1000.00"), new TreeMap<>(), FIRST_PAYMENT);
+        
+        assertEquals(Money.ZERO, schedule.getRows().get(schedule.getPayments() - 1).getBalance());
+        assertNull(schedule.getInterestSaved());
+        assertNull(schedule.getPaymentsSaved());
+    }
+    
+    private LoanSchedule schedule(Loan loan, Double annualRate) {
+        return service.schedule(loan, annualRate, null, new TreeMap<>(), FIRST_PAYMENT);
+    }
+    
+    private static Loan loan(Double annualRate) {
+        Loan loan = new Loan(1L, "Personal", 10_000.0, 1_000.0, 10_000.0);
+        loan.setId(1L);
+        loan.setAnnualRate(annualRate);
+        return loan;
+    }
+}
@@ -0,0 +1,93 @@
+package com.pext.service;
+
+import com.pext.dto.TransactionRequest;
+import com.pext.model.Money;
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OfxStatementReaderTest {
+    
+    @Test
+    void sgmlWithoutEndTags() throws IOException {
+        OfxStatementReader reader = new OfxStatementReader(new StringReader(
+            "OFXHEADER:100\n" +
+            "DATA:OFXSGML\n" +
+            "VERSION:102\n" +
+            "\n" +
+            "<OFX>\n" +
+            "<BANKMSGSRSV1><STMTTRNRS><STMTRS>\n" +
+            "<BANKTRANLIST>\n" +
+            "<DTSTART>20240101\n" +
+            "<STMTTRN>\n" +
+            "<TRNTYPE>DEBIT\n" +
+            "<DTPOSTED>20240102120000.000[-5:EST]\n" +
+            "<TRNAMT>-12.50\n" +
+            "<NAME>Coffee &amp; Co\n" +
+            "<MEMO>Card purchase\n" +
+            "<STMTTRN>\n" +
+            "<TRNTYPE>CREDIT\n" +
+            "<DTPOSTED>20240103\n" +
+            "<TRNAMT>1000,00\n" +
+            "<NAME>Salary\n" +
+            "</BANKTRANLIST>\n" +
+            "</STMTRS></STMTTRNRS></BANKMSGSRSV1>\n" +
+            "</OFX>\n"));
+        
+        TransactionRequest debit = reader.next();
+        assertEquals("debit", debit.getType());
+        assertEquals(Money.parse("12.50"), debit.getAmount());
+        assertEquals(LocalDateTime.of(2024, 1, 2, 12, 0), debit.getDate());
+        assertEquals("Coffee & Co - Card purchase", debit.getDescription());
+        assertEquals(1, reader.position());
+        
+        TransactionRequest credit = reader.next();
+        assertEquals("credit", credit.getType());
+        assertEquals(Money.parse("1000.00"), credit.getAmount());
+        assertEquals(LocalDateTime.of(2024, 1, 3, 0, 0), credit.getDate());
+        assertEquals("Salary", credit.getDescription());
+        assertEquals(2, reader.position());
+        
+        assertNull(reader.next());
+    }
+    
+    @Test
+    void xmlWithEndTags() throws IOException {
+        OfxStatementReader reader = new OfxStatementReader(new StringReader(
+            "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+            "<?OFX OFXHEADER=\"200\" VERSION=\"220\"?>\n" +
+            "<OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>\n" +
+            "<STMTTRN><TRNTYPE>DEBIT</TRNTYPE><DTPOSTED>20240105</DTPOSTED>" +
+            "<TRNAMT>-3.20</TRNAMT><MEMO>Bus</MEMO></STMTTRN>\n" +
+            "</BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>\n"));
+        
+        TransactionRequest row = reader.next();
+        assertEquals("debit", row.getType());
+        assertEquals(Money.parse("3.20"), row.getAmount());
+        assertEquals("Bus", row.getDescription());
+        assertNull(reader.next());
+    }
+    
+    @Test
+    void transactionWithoutAmountIsRefusedAndSkipped() throws IOException {
+        OfxStatementReader reader = new OfxStatementReader(new StringReader(
+            "<OFX><BANKTRANLIST>\n" +
+            "<STMTTRN><DTPOSTED>20240102<NAME>No amount\n" +
+            "<STMTTRN><DTPOSTED>20240103<TRNAMT>7<NAME>Fine\n" +
+            "</BANKTRANLIST></OFX>\n"));
+        
+        assertThrows(IllegalArgumentException.class, reader::next);
+        assertEquals("Fine", reader.next().getDescription());
+    }
+    
+    @Test
+    void missingRootElementIsRefused() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new OfxStatementReader(new StringReader("date,amount,description\n")));
+    }
+}
@@ -0,0 +1,115 @@
+package com.pext.service;
+
+import com.pext.config.LocalReplicaSync;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The scheduled copy and heartbeat only run at startup; each test brings the replica up to date itself
+@SpringBootTest(properties = {
+    "pext.replica.heartbeat-interval-ms=3600000",
+    "pext.replica.local-sync-interval-ms=3600000"
+})
+@ActiveProfiles("replica")
+@AutoConfigureMockMvc
+class ReplicaReadsTest {
+    
+    private static final long DEMO_USER = 1L;
+    private static final long DEMO_ACCOUNT = 1L;
+    
+    // Replica connections taken per thread; MockMvc serves each request on the test thread
+    private static final Map<Thread, Integer> REPLICA_CONNECTIONS = new ConcurrentHashMap<>();
+    
+    @TestConfiguration
+    static class RecordReplicaConnections {
+        
+        @Bean
+        static BeanPostProcessor replicaConnectionRecorder() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!"replicaDataSource".equals(beanName)) {
+                        return bean;
+                    }
+                    return new DelegatingDataSource((DataSource) bean) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            REPLICA_CONNECTIONS.merge(Thread.currentThread(), 1, Integer::sum);
+                            return super.getConnection();
+                        }
+                    };
+                }
+            };
+        }
+    }
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private LocalReplicaSync localReplicaSync;
+    
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+    
+    @BeforeEach
+    void catchUpReplica() throws Exception {
+        // Beat, copy the beat and everything before it, then read it back from the replica
+        replicaLagMonitor.heartbeat();
+        localReplicaSync.sync();
+        replicaLagMonitor.heartbeat();
+    }
+    
+    @Test
+    void accountReadsUseReplica() throws Exception {
+        assertTrue(readsReplica(get("/api/accounts").param("userId", String.valueOf(DEMO_USER))));
+        assertTrue(readsReplica(get("/api/transactions").param("accountId", String.valueOf(DEMO_ACCOUNT))));
+    }
+    
+    @Test
+    void readsSpanningUsersStayOnPrimary() throws Exception {
+        assertFalse(readsReplica(get("/api/transactions").param("limit", "5")));
+    }
+    
+    @Test
+    void readAfterWriteGoesToPrimary() throws Exception {
+        mockMvc.perform(post("/api/transactions/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"accountId\": " + DEMO_ACCOUNT + ", \"amount\": \"1.00\", \"type\": \"debit\", "
+                    + "\"category\": \"Food\", \"description\": \"replica test\"}]"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.accepted").value(1));
+        
+        // The replica has not copied the new row yet, so the owner's reads must not use it
+        assertFalse(readsReplica(get("/api/transactions").param("accountId", String.valueOf(DEMO_ACCOUNT))));
+        assertFalse(readsReplica(get("/api/accounts").param("userId", String.valueOf(DEMO_USER))));
+    }
+    
+    private boolean readsReplica(RequestBuilder request) throws Exception {
+        int before = REPLICA_CONNECTIONS.getOrDefault(Thread.currentThread(), 0);
+        mockMvc.perform(request).andExpect(status().isOk());
+        return REPLICA_CONNECTIONS.getOrDefault(Thread.currentThread(), 0) > before;
+    }
+}